@@ -0,0 +1,87 @@
+package com.starr.automation.benchmarks;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+
+/**
+ * The TOTP path OtpUtil used before keys were cached: decodes the secret, builds a key, looks up a Mac and
+ * pads with string concatenation on every call. Kept only as the baseline for {@link OtpBenchmark}.
+ */
+final class LegacyOtp {
+    private static final int[] DIGITS_POWER = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000};
+    private static final String HMAC_ALGORITHM = "HmacSHA1";
+
+    private LegacyOtp() {
+        // Private constructor to prevent instantiation
+    }
+
+    static String generateOtp(String secretKey, long timeCounter, int digits) {
+        try {
+            return generateTOTP(decodeBase32(secretKey), timeCounter, digits);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate OTP", e);
+        }
+    }
+
+    static boolean validateOtp(String secretKey, String otp) {
+        return generateOtp(secretKey, Instant.now().getEpochSecond() / 30, 6).equals(otp);
+    }
+
+    private static String generateTOTP(byte[] key, long timeCounter, int digits)
+            throws NoSuchAlgorithmException, InvalidKeyException {
+        byte[] data = ByteBuffer.allocate(8).putLong(timeCounter).array();
+
+        SecretKeySpec signKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+        mac.init(signKey);
+        byte[] hash = mac.doFinal(data);
+
+        int offset = hash[hash.length - 1] & 0x0F;
+        int binary = ((hash[offset] & 0x7F) << 24)
+                | ((hash[offset + 1] & 0xFF) << 16)
+                | ((hash[offset + 2] & 0xFF) << 8)
+                | (hash[offset + 3] & 0xFF);
+
+        int otp = binary % DIGITS_POWER[digits];
+
+        String result = String.valueOf(otp);
+        while (result.length() < digits) {
+            result = "0" + result;
+        }
+        return result;
+    }
+
+    private static byte[] decodeBase32(String base32) {
+        base32 = base32.replace(" ", "").toUpperCase();
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
+
+        int outputLength = base32.length() * 5 / 8;
+        byte[] result = new byte[outputLength];
+
+        int buffer = 0;
+        int bitsLeft = 0;
+        int index = 0;
+
+        for (char c : base32.toCharArray()) {
+            int value = alphabet.indexOf(c);
+            if (value < 0) {
+                continue;
+            }
+
+            buffer <<= 5;
+            buffer |= value;
+            bitsLeft += 5;
+
+            if (bitsLeft >= 8) {
+                result[index++] = (byte) (buffer >> (bitsLeft - 8));
+                bitsLeft -= 8;
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package com.starr.automation.benchmarks;
+
+import com.starr.automation.utils.OtpUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of generating and validating a TOTP code with the cached OtpUtil engine against the previous
+ * decode-per-call path. Run with -prof gc to report allocations per operation (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OtpBenchmark {
+    // RFC 6238 SHA-1 test secret ("12345678901234567890")
+    private static final String SECRET = "GEZDGNBVGY3TQOJQGEZDGNBVGY3TQOJQ";
+    private static final long TIME_COUNTER = 1234567890L / 30;
+
+    private String code;
+
+    @Setup
+    public void setUp() {
+        code = OtpUtil.formatCode(OtpUtil.generateCode(SECRET, TIME_COUNTER, 6), 6);
+        if (!code.equals(LegacyOtp.generateOtp(SECRET, TIME_COUNTER, 6))) {
+            throw new IllegalStateException("Legacy and cached OTP paths disagree");
+        }
+    }
+
+    @Benchmark
+    public String legacyGenerateOtp() {
+        return LegacyOtp.generateOtp(SECRET, TIME_COUNTER, 6);
+    }
+
+    @Benchmark
+    public String generateOtp() {
+        return OtpUtil.formatCode(OtpUtil.generateCode(SECRET, TIME_COUNTER, 6), 6);
+    }
+
+    @Benchmark
+    public int generateCode() {
+        return OtpUtil.generateCode(SECRET, TIME_COUNTER, 6);
+    }
+
+    @Benchmark
+    public boolean legacyValidateOtp() {
+        return LegacyOtp.validateOtp(SECRET, code);
+    }
+
+    @Benchmark
+    public boolean validateOtp() {
+        return OtpUtil.validateOtp(SECRET, code);
+    }
+}
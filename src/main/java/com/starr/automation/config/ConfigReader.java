@@ -1,61 +1,27 @@
 package com.starr.automation.config;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Properties;
+import java.time.Duration;
 
 /**
  * Configuration reader for loading and accessing application properties.
- * Loads both config.properties (non-sensitive) and secrets.properties (sensitive credentials).
+ * Loads both config.properties (non-sensitive) and secrets.properties (sensitive credentials), overridden by
+ * SF_ environment variables and system properties, into a {@link ConfigSnapshot} when first used.
+ * The snapshot is immutable, so getters are lock-free reads of values parsed once.
  */
 public class ConfigReader {
-    private static final Logger logger = LoggerFactory.getLogger(ConfigReader.class);
-    private static final String CONFIG_FILE = "config.properties";
-    private static final String SECRETS_FILE = "secrets.properties";
-    private static Properties properties;
-
-    static {
-        loadProperties();
-    }
+    private static final ConfigSnapshot snapshot = ConfigSnapshot.load();
 
     private ConfigReader() {
         // Private constructor to prevent instantiation
     }
 
     /**
-     * Load properties from config files.
-     * Loads config.properties first, then secrets.properties (which can override values).
+     * Get the parsed configuration.
+     *
+     * @return configuration snapshot
      */
-    private static void loadProperties() {
-        properties = new Properties();
-
-        // Load main config file
-        try (InputStream input = ConfigReader.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
-            if (input == null) {
-                logger.error("Unable to find {}", CONFIG_FILE);
-                return;
-            }
-            properties.load(input);
-            logger.info("Configuration loaded successfully from {}", CONFIG_FILE);
-        } catch (IOException e) {
-            logger.error("Error loading configuration from {}", CONFIG_FILE, e);
-        }
-
-        // Load secrets file (optional)
-        try (InputStream input = ConfigReader.class.getClassLoader().getResourceAsStream(SECRETS_FILE)) {
-            if (input != null) {
-                properties.load(input);
-                logger.info("Secrets loaded successfully from {}", SECRETS_FILE);
-            } else {
-                logger.warn("Secrets file {} not found - using values from {} or environment variables",
-                        SECRETS_FILE, CONFIG_FILE);
-            }
-        } catch (IOException e) {
-            logger.warn("Error loading secrets from {}", SECRETS_FILE, e);
-        }
+    public static ConfigSnapshot snapshot() {
+        return snapshot;
     }
 
     /**
@@ -65,7 +31,7 @@ public class ConfigReader {
      * @return the property value
      */
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return snapshot.get(key);
     }
 
     /**
@@ -76,7 +42,7 @@ public class ConfigReader {
      * @return the property value or default
      */
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return snapshot.get(key, defaultValue);
     }
 
     /**
@@ -85,7 +51,34 @@ public class ConfigReader {
      * @return browser type
      */
     public static String getBrowser() {
-        return getProperty("browser", "chrome");
+        return snapshot.browser().name();
+    }
+
+    /**
+     * Get browser performance profile name.
+     *
+     * @return profile name (default or lean)
+     */
+    public static String getBrowserProfile() {
+        return snapshot.browser().profile();
+    }
+
+    /**
+     * Get fixed browser window size used instead of maximizing.
+     *
+     * @return window size as "width,height"
+     */
+    public static String getBrowserWindowSize() {
+        return snapshot.browser().windowSize();
+    }
+
+    /**
+     * Check if the lean browser profile should block image loading.
+     *
+     * @return true if images are blocked in the lean profile
+     */
+    public static boolean isLeanImageBlocking() {
+        return snapshot.browser().leanImageBlocking();
     }
 
     /**
@@ -94,7 +87,7 @@ public class ConfigReader {
      * @return base URL
      */
     public static String getBaseUrl() {
-        return getProperty("base.url", "https://www.example.com");
+        return snapshot.navigation().baseUrl();
     }
 
     /**
@@ -103,7 +96,34 @@ public class ConfigReader {
      * @return timeout in seconds
      */
     public static int getImplicitWait() {
-        return Integer.parseInt(getProperty("implicit.wait", "10"));
+        return snapshot.waits().implicitWait();
+    }
+
+    /**
+     * Check if the framework runs with implicit wait 0 and explicit waits only.
+     *
+     * @return true if implicit waits are disabled
+     */
+    public static boolean isExplicitWaitOnly() {
+        return snapshot.waits().explicitOnly();
+    }
+
+    /**
+     * Get implicit wait applied to drivers, taking wait.explicit.only into account.
+     *
+     * @return effective implicit wait
+     */
+    public static Duration getEffectiveImplicitWait() {
+        return snapshot.waits().effectiveImplicitWait();
+    }
+
+    /**
+     * Get how long page load checks wait for a page's key elements.
+     *
+     * @return timeout in seconds
+     */
+    public static int getProbeTimeout() {
+        return (int) snapshot.waits().probeTimeout().toSeconds();
     }
 
     /**
@@ -112,7 +132,7 @@ public class ConfigReader {
      * @return timeout in seconds
      */
     public static int getExplicitWait() {
-        return Integer.parseInt(getProperty("explicit.wait", "20"));
+        return (int) snapshot.waits().explicitWait().toSeconds();
     }
 
     /**
@@ -121,7 +141,52 @@ public class ConfigReader {
      * @return timeout in seconds
      */
     public static int getPageLoadTimeout() {
-        return Integer.parseInt(getProperty("page.load.timeout", "30"));
+        return snapshot.waits().pageLoadTimeout();
+    }
+
+    /**
+     * Check if page object actions should wait for Lightning to become idle.
+     *
+     * @return true if Lightning idle waits are enabled
+     */
+    public static boolean isLightningIdleWaitEnabled() {
+        return snapshot.waits().lightningIdleEnabled();
+    }
+
+    /**
+     * Get how long the page must be free of network and DOM activity to count as idle.
+     *
+     * @return quiet period in milliseconds
+     */
+    public static int getLightningQuietMillis() {
+        return snapshot.waits().lightningQuietMillis();
+    }
+
+    /**
+     * Get how Setup pages hosted in Lightning iframes are opened.
+     *
+     * @return navigation mode name (lightning or classic)
+     */
+    public static String getSetupNavigationMode() {
+        return snapshot.navigation().setupMode();
+    }
+
+    /**
+     * Check if navigations to the page the driver is already on should be skipped.
+     *
+     * @return true if redundant page loads are skipped
+     */
+    public static boolean isNavigationSkipEnabled() {
+        return snapshot.navigation().skipEnabled();
+    }
+
+    /**
+     * Check if navigations between Lightning pages should route inside the app instead of reloading it.
+     *
+     * @return true if soft Lightning navigation is enabled
+     */
+    public static boolean isSoftNavigationEnabled() {
+        return snapshot.navigation().softEnabled();
     }
 
     /**
@@ -130,7 +195,7 @@ public class ConfigReader {
      * @return true if headless mode is enabled
      */
     public static boolean isHeadless() {
-        return Boolean.parseBoolean(getProperty("headless", "false"));
+        return snapshot.browser().headless();
     }
 
     /**
@@ -139,7 +204,52 @@ public class ConfigReader {
      * @return OTP secret in Base32 format
      */
     public static String getOtpSecret() {
-        return getProperty("test.otp.secret");
+        return snapshot.otp().secret();
+    }
+
+    /**
+     * Get expected time from generating an OTP code to the server checking it.
+     *
+     * @return latency in milliseconds
+     */
+    public static long getOtpSubmitLatencyMillis() {
+        return snapshot.otp().submitLatencyMillis();
+    }
+
+    /**
+     * Get uncertainty either side of the expected OTP submit latency.
+     *
+     * @return margin in milliseconds
+     */
+    public static long getOtpSubmitMarginMillis() {
+        return snapshot.otp().submitMarginMillis();
+    }
+
+    /**
+     * Get how many TOTP steps either side of the current one the server accepts.
+     *
+     * @return accepted clock skew in steps
+     */
+    public static int getOtpSkewSteps() {
+        return snapshot.otp().skewSteps();
+    }
+
+    /**
+     * Check if claimed OTP steps are coordinated across JVMs through the ledger directory.
+     *
+     * @return true if the OTP ledger is shared across forks
+     */
+    public static boolean isOtpLedgerShared() {
+        return snapshot.otp().ledgerShared();
+    }
+
+    /**
+     * Get directory holding the shared OTP ledger files.
+     *
+     * @return ledger directory path
+     */
+    public static String getOtpLedgerDir() {
+        return snapshot.otp().ledgerDir();
     }
 
     /**
@@ -148,7 +258,7 @@ public class ConfigReader {
      * @return true if OTP is enabled
      */
     public static boolean isOtpEnabled() {
-        return Boolean.parseBoolean(getProperty("test.otp.enabled", "false"));
+        return snapshot.otp().enabled();
     }
 
     /**
@@ -157,7 +267,7 @@ public class ConfigReader {
      * @return test user email
      */
     public static String getTestUserEmail() {
-        return getProperty("test.user.email");
+        return snapshot.users().email();
     }
 
     /**
@@ -166,7 +276,252 @@ public class ConfigReader {
      * @return test user password
      */
     public static String getTestUserPassword() {
-        return getProperty("test.user.password");
+        return snapshot.users().password();
+    }
+
+    /**
+     * Get maximum time to wait for a pooled test user to become available.
+     *
+     * @return timeout in seconds
+     */
+    public static int getUserPoolLeaseTimeout() {
+        return snapshot.users().leaseTimeout();
+    }
+
+    /**
+     * Check if WebDriver pooling is enabled.
+     *
+     * @return true if drivers should be leased from a pool instead of created per test
+     */
+    public static boolean isDriverPoolEnabled() {
+        return snapshot.driverPool().enabled();
+    }
+
+    /**
+     * Get maximum number of pooled drivers for a browser.
+     * A browser specific value (driver.pool.size.chrome) overrides driver.pool.size.
+     *
+     * @param browser browser name
+     * @return maximum pool size
+     */
+    public static int getDriverPoolSize(String browser) {
+        return snapshot.driverPool().sizes().getOrDefault(browser, snapshot.driverPool().size());
+    }
+
+    /**
+     * Get number of drivers to pre-launch when a pool is first used.
+     *
+     * @return number of drivers to warm up
+     */
+    public static int getDriverPoolWarmup() {
+        return snapshot.driverPool().warmup();
+    }
+
+    /**
+     * Get maximum time to wait for a pooled driver to become available.
+     *
+     * @return timeout in seconds
+     */
+    public static int getDriverPoolLeaseTimeout() {
+        return snapshot.driverPool().leaseTimeout();
+    }
+
+    /**
+     * Check if authenticated session snapshots should be reused across tests.
+     *
+     * @return true if the session cache is enabled
+     */
+    public static boolean isSessionCacheEnabled() {
+        return snapshot.session().enabled();
+    }
+
+    /**
+     * Get how long a captured session snapshot may be reused.
+     *
+     * @return time to live in minutes
+     */
+    public static int getSessionCacheTtlMinutes() {
+        return snapshot.session().ttlMinutes();
+    }
+
+    /**
+     * Get directory where session snapshots are persisted.
+     *
+     * @return session cache directory
+     */
+    public static String getSessionCacheDir() {
+        return snapshot.session().dir();
+    }
+
+    /**
+     * Check if browser startup and teardown should overlap with test execution.
+     *
+     * @return true if the next driver is pre-launched and quits happen asynchronously
+     */
+    public static boolean isAsyncDriverLifecycle() {
+        return snapshot.driver().asyncLifecycle();
+    }
+
+    /**
+     * Check if Chromium sessions should attach to a shared driver service instead of spawning their own.
+     *
+     * @return true if driver services are shared per JVM
+     */
+    public static boolean isSharedDriverService() {
+        return snapshot.driver().sharedService();
+    }
+
+    /**
+     * Get interval between shared driver service health checks.
+     *
+     * @return interval in seconds
+     */
+    public static int getDriverServiceHealthInterval() {
+        return snapshot.driver().serviceHealthInterval();
+    }
+
+    /**
+     * Check if driver binaries must be resolved without network access.
+     *
+     * @return true if only pinned local driver binaries may be used
+     */
+    public static boolean isDriverOffline() {
+        return snapshot.driver().offline();
+    }
+
+    /**
+     * Get pinned local driver binary for a browser.
+     *
+     * @param browser browser name
+     * @return driver binary path, or null if not pinned
+     */
+    public static String getDriverPath(String browser) {
+        return snapshot.driver().paths().get(browser);
+    }
+
+    /**
+     * Get file used to persist resolved driver binaries across runs.
+     *
+     * @return driver resolution cache file
+     */
+    public static String getDriverResolutionCache() {
+        return snapshot.driver().resolutionCache();
+    }
+
+    /**
+     * Check if Chromium drivers should start from a clone of a warm profile template.
+     *
+     * @return true if the profile template is enabled
+     */
+    public static boolean isProfileTemplateEnabled() {
+        return snapshot.browser().profileTemplateEnabled();
+    }
+
+    /**
+     * Get directory holding the warm profile template and its per-driver clones.
+     *
+     * @return profile template directory
+     */
+    public static String getProfileTemplateDir() {
+        return snapshot.browser().profileTemplateDir();
     }
-}
 
+    /**
+     * Check whether page-load timings are recorded per browser profile and compared against other profiles.
+     *
+     * @return true if browser profile reporting is enabled
+     */
+    public static boolean isBrowserProfileReportEnabled() {
+        return snapshot.browser().profileReportEnabled();
+    }
+
+    /**
+     * Get directory holding each browser profile's timings between runs.
+     *
+     * @return browser profile report directory
+     */
+    public static String getBrowserProfileReportDir() {
+        return snapshot.browser().profileReportDir();
+    }
+
+    /**
+     * Check if new driver leases should wait while the machine is saturated.
+     *
+     * @return true if driver leases are throttled
+     */
+    public static boolean isLeaseThrottlingEnabled() {
+        return snapshot.parallel().throttleEnabled();
+    }
+
+    /**
+     * Get maximum time a driver lease waits for machine capacity.
+     *
+     * @return timeout in seconds
+     */
+    public static int getParallelThrottleTimeout() {
+        return snapshot.parallel().throttleTimeout();
+    }
+
+    /**
+     * Get system CPU load above which driver leases are throttled.
+     *
+     * @return CPU load between 0 and 1
+     */
+    public static double getParallelCpuLimit() {
+        return snapshot.parallel().cpuLimit();
+    }
+
+    /**
+     * Get memory to keep free for the OS and JVM when sizing parallelism.
+     *
+     * @return reserved memory in megabytes
+     */
+    public static long getParallelMemoryReserveMb() {
+        return snapshot.parallel().memoryReserveMb();
+    }
+
+    /**
+     * Get estimated memory per browser, used until real browser memory has been measured.
+     *
+     * @return memory per browser in megabytes
+     */
+    public static long getParallelBrowserMemoryMb() {
+        return snapshot.parallel().browserMemoryMb();
+    }
+
+    /**
+     * Get upper bound on parallel test workers.
+     *
+     * @return maximum number of workers
+     */
+    public static int getParallelMaxWorkers() {
+        return snapshot.parallel().maxWorkers();
+    }
+
+    /**
+     * Get number of leases after which a pooled driver is recycled.
+     *
+     * @return maximum uses per driver, 0 to disable
+     */
+    public static int getDriverRecycleMaxUses() {
+        return snapshot.driverPool().recycleMaxUses();
+    }
+
+    /**
+     * Get age after which a pooled driver is recycled.
+     *
+     * @return maximum driver age in minutes, 0 to disable
+     */
+    public static int getDriverRecycleMaxAgeMinutes() {
+        return snapshot.driverPool().recycleMaxAgeMinutes();
+    }
+
+    /**
+     * Get JS heap size above which a pooled driver is recycled.
+     *
+     * @return maximum JS heap in megabytes, 0 to disable
+     */
+    public static long getDriverRecycleMaxHeapMb() {
+        return snapshot.driverPool().recycleMaxHeapMb();
+    }
+}
@@ -0,0 +1,494 @@
+package com.starr.automation.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable configuration, read and validated once when {@link ConfigReader} is first used.
+ * Values are layered, later layers overriding earlier ones:
+ * <ol>
+ *     <li>config.properties</li>
+ *     <li>secrets.properties</li>
+ *     <li>environment variables named SF_ followed by the key in upper case with dots as underscores,
+ *     e.g. SF_EXPLICIT_WAIT for explicit.wait</li>
+ *     <li>system properties, e.g. -Dexplicit.wait=30, for keys set by an earlier layer or read by the framework</li>
+ * </ol>
+ * Settings the framework reads are parsed into typed groups up front, so lookups on hot paths are plain field reads.
+ * Every malformed or out-of-range value is reported together by {@link #load()} instead of failing mid-suite.
+ *
+ * @param values     all layered values by key
+ * @param browser    browser and profile settings
+ * @param waits      wait and timeout settings
+ * @param navigation org URL and navigation settings
+ * @param otp        OTP generation and scheduling settings
+ * @param users      test user settings
+ * @param driverPool driver pool and recycling settings
+ * @param session    session cache settings
+ * @param driver     driver service and binary resolution settings
+ * @param parallel   parallel execution settings
+ */
+public record ConfigSnapshot(Map<String, String> values, Browser browser, Waits waits, Navigation navigation,
+                             Otp otp, Users users, DriverPool driverPool, Session session, Driver driver,
+                             Parallel parallel) {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSnapshot.class);
+    private static final String CONFIG_FILE = "config.properties";
+    private static final String SECRETS_FILE = "secrets.properties";
+    private static final String ENV_PREFIX = "SF_";
+    private static final Pattern WINDOW_SIZE = Pattern.compile("[1-9]\\d*,[1-9]\\d*");
+    private static final List<String> BROWSERS = List.of("chrome", "firefox", "edge");
+    private static final List<String> BROWSER_PROFILES = List.of("default", "lean");
+    private static final List<String> SETUP_NAVIGATION_MODES = List.of("lightning", "classic");
+    private static final List<String> KNOWN_KEYS = List.of(
+            "browser", "headless", "implicit.wait", "explicit.wait", "page.load.timeout", "base.url");
+    private static final List<String> KNOWN_PREFIXES = List.of(
+            "browser.", "wait.", "setup.", "navigation.", "screenshot.", "test.", "otp.", "user.pool.", "driver.",
+            "session.", "parallel.");
+
+    /**
+     * Browser settings.
+     *
+     * @param name                   browser name
+     * @param profile                browser profile name
+     * @param windowSize             window size as width,height
+     * @param headless               whether to run headless
+     * @param leanImageBlocking      whether the lean profile blocks images
+     * @param profileTemplateEnabled whether browser profiles are copied from a template
+     * @param profileTemplateDir     profile template directory
+     * @param profileReportEnabled   whether page-load timings are recorded and compared across profiles
+     * @param profileReportDir       directory holding each profile's timings between runs
+     */
+    public record Browser(String name, String profile, String windowSize, boolean headless,
+                          boolean leanImageBlocking, boolean profileTemplateEnabled, String profileTemplateDir,
+                          boolean profileReportEnabled, String profileReportDir) {
+    }
+
+    /**
+     * Wait and timeout settings.
+     *
+     * @param implicitWait          implicit wait in seconds
+     * @param explicitOnly          whether the implicit wait is disabled
+     * @param effectiveImplicitWait implicit wait applied to drivers
+     * @param explicitWait          explicit wait
+     * @param probeTimeout          budget for isLoaded() probes
+     * @param pageLoadTimeout       page load timeout in seconds
+     * @param lightningIdleEnabled  whether actions wait for Lightning idle
+     * @param lightningQuietMillis  quiet period that counts as Lightning idle
+     */
+    public record Waits(int implicitWait, boolean explicitOnly, Duration effectiveImplicitWait, Duration explicitWait,
+                        Duration probeTimeout, int pageLoadTimeout, boolean lightningIdleEnabled,
+                        int lightningQuietMillis) {
+    }
+
+    /**
+     * Org URL and navigation settings.
+     *
+     * @param baseUrl     org base URL
+     * @param setupMode   Setup navigation mode name
+     * @param skipEnabled whether redundant page loads are skipped
+     * @param softEnabled whether Lightning routes are used instead of full page loads
+     */
+    public record Navigation(String baseUrl, String setupMode, boolean skipEnabled, boolean softEnabled) {
+    }
+
+    /**
+     * OTP settings.
+     *
+     * @param enabled             whether OTP codes are generated during login
+     * @param secret              configured Base32 OTP secret
+     * @param submitLatencyMillis expected time from generating a code to the server checking it
+     * @param submitMarginMillis  uncertainty either side of the latency
+     * @param skewSteps           steps either side of the current one the server accepts
+     * @param ledgerShared        whether claimed steps are shared across forks
+     * @param ledgerDir           directory of shared ledger files
+     */
+    public record Otp(boolean enabled, String secret, long submitLatencyMillis, long submitMarginMillis,
+                      int skewSteps, boolean ledgerShared, String ledgerDir) {
+        @Override
+        public String toString() {
+            // Keep the secret out of logs
+            return "Otp[enabled=" + enabled + ", submitLatencyMillis=" + submitLatencyMillis
+                    + ", submitMarginMillis=" + submitMarginMillis + ", skewSteps=" + skewSteps
+                    + ", ledgerShared=" + ledgerShared + ", ledgerDir=" + ledgerDir + "]";
+        }
+    }
+
+    /**
+     * Test user settings.
+     *
+     * @param email        single configured user's email
+     * @param password     single configured user's password
+     * @param leaseTimeout seconds to wait for a pooled user
+     */
+    public record Users(String email, String password, int leaseTimeout) {
+        @Override
+        public String toString() {
+            // Keep credentials out of logs
+            return "Users[email=" + email + ", leaseTimeout=" + leaseTimeout + "]";
+        }
+    }
+
+    /**
+     * Driver pool settings.
+     *
+     * @param enabled              whether drivers are pooled
+     * @param size                 default pool size
+     * @param sizes                pool sizes by browser name, overriding the default
+     * @param warmup               drivers to pre-launch
+     * @param leaseTimeout         seconds to wait for a pooled driver
+     * @param recycleMaxUses       leases before a driver is recycled, 0 for no limit
+     * @param recycleMaxAgeMinutes age before a driver is recycled, 0 for no limit
+     * @param recycleMaxHeapMb     JS heap before a driver is recycled, 0 for no limit
+     */
+    public record DriverPool(boolean enabled, int size, Map<String, Integer> sizes, int warmup, int leaseTimeout,
+                             int recycleMaxUses, int recycleMaxAgeMinutes, long recycleMaxHeapMb) {
+    }
+
+    /**
+     * Session cache settings.
+     *
+     * @param enabled    whether sessions are cached
+     * @param ttlMinutes snapshot time to live
+     * @param dir        snapshot directory
+     */
+    public record Session(boolean enabled, int ttlMinutes, String dir) {
+    }
+
+    /**
+     * Driver service and binary settings.
+     *
+     * @param asyncLifecycle        whether drivers are created and quit in the background
+     * @param sharedService         whether drivers share one driver service
+     * @param serviceHealthInterval seconds between driver service health checks
+     * @param offline               whether driver binaries are resolved without network access
+     * @param paths                 driver binary paths by browser name
+     * @param resolutionCache       driver resolution cache file
+     */
+    public record Driver(boolean asyncLifecycle, boolean sharedService, int serviceHealthInterval, boolean offline,
+                         Map<String, String> paths, String resolutionCache) {
+    }
+
+    /**
+     * Parallel execution settings.
+     *
+     * @param throttleEnabled  whether driver leases wait for free resources
+     * @param throttleTimeout  seconds to wait for free resources
+     * @param cpuLimit         CPU load above which leases wait
+     * @param memoryReserveMb  memory kept free for the system
+     * @param browserMemoryMb  memory budget per browser
+     * @param maxWorkers       upper bound on parallel workers
+     */
+    public record Parallel(boolean throttleEnabled, int throttleTimeout, double cpuLimit, long memoryReserveMb,
+                           long browserMemoryMb, int maxWorkers) {
+    }
+
+    /**
+     * Read and validate configuration from all layers.
+     *
+     * @return configuration snapshot
+     * @throws IllegalStateException listing every invalid value
+     */
+    public static ConfigSnapshot load() {
+        Map<String, String> values = new HashMap<>();
+        Map<String, String> sources = new HashMap<>();
+        loadResource(CONFIG_FILE, values, sources, true);
+        loadResource(SECRETS_FILE, values, sources, false);
+        applyOverrides(values, sources, System.getenv(), System.getProperties());
+        return parse(values, sources);
+    }
+
+    /**
+     * Layer SF_ environment variables and then system properties over values read from files.
+     * System properties only apply to keys an earlier layer sets or the framework reads, so JVM and
+     * build tool properties such as user.home or java.version are not copied into the configuration.
+     *
+     * @param values           values by key, updated in place
+     * @param sources          layer each value came from, updated in place
+     * @param environment      environment variables by name
+     * @param systemProperties system properties
+     */
+    static void applyOverrides(Map<String, String> values, Map<String, String> sources,
+                               Map<String, String> environment, Properties systemProperties) {
+        environment.forEach((name, value) -> {
+            if (name.startsWith(ENV_PREFIX) && name.length() > ENV_PREFIX.length()) {
+                String key = name.substring(ENV_PREFIX.length()).toLowerCase(Locale.ROOT).replace('_', '.');
+                put(values, sources, key, value, "environment variable " + name);
+            }
+        });
+        systemProperties.stringPropertyNames().forEach(key -> {
+            if (values.containsKey(key) || isKnownKey(key)) {
+                put(values, sources, key, systemProperties.getProperty(key), "system property");
+            }
+        });
+    }
+
+    /**
+     * Check whether a key is one the framework reads, including indexed and per-browser keys.
+     *
+     * @param key property key
+     * @return true if the key is known
+     */
+    static boolean isKnownKey(String key) {
+        return KNOWN_KEYS.contains(key) || KNOWN_PREFIXES.stream().anyMatch(key::startsWith);
+    }
+
+    /**
+     * Parse and validate layered values.
+     *
+     * @param values  values by key
+     * @param sources layer each value came from, used in validation messages
+     * @return configuration snapshot
+     * @throws IllegalStateException listing every invalid value
+     */
+    public static ConfigSnapshot parse(Map<String, String> values, Map<String, String> sources) {
+        Parser p = new Parser(values, sources);
+
+        Browser browser = new Browser(
+                p.oneOf("browser", "chrome", BROWSERS),
+                p.oneOf("browser.profile", "default", BROWSER_PROFILES),
+                p.matching("browser.window.size", "1920,1080", WINDOW_SIZE, "width,height in pixels"),
+                p.bool("headless", false),
+                p.bool("browser.lean.block.images", false),
+                p.bool("browser.profile.template.enabled", false),
+                p.string("browser.profile.template.dir", "target/browser-profiles"),
+                p.bool("browser.profile.report.enabled", false),
+                p.string("browser.profile.report.dir", "metrics"));
+
+        int implicitWait = p.integer("implicit.wait", 10, 0);
+        boolean explicitOnly = p.bool("wait.explicit.only", false);
+        Waits waits = new Waits(
+                implicitWait,
+                explicitOnly,
+                explicitOnly ? Duration.ZERO : Duration.ofSeconds(implicitWait),
+                Duration.ofSeconds(p.integer("explicit.wait", 20, 1)),
+                Duration.ofSeconds(p.integer("wait.probe.timeout", 5, 0)),
+                p.integer("page.load.timeout", 30, 1),
+                p.bool("wait.lightning.idle.enabled", false),
+                p.integer("wait.lightning.quiet.ms", 300, 0));
+
+        Navigation navigation = new Navigation(
+                p.string("base.url", "https://www.example.com"),
+                p.oneOf("setup.navigation.mode", "lightning", SETUP_NAVIGATION_MODES),
+                p.bool("navigation.skip.enabled", true),
+                p.bool("navigation.soft.enabled", true));
+
+        Otp otp = new Otp(
+                p.bool("test.otp.enabled", false),
+                values.get("test.otp.secret"),
+                p.longValue("otp.submit.latency.ms", 1500, 0),
+                p.longValue("otp.submit.margin.ms", 1000, 0),
+                p.integer("otp.skew.steps", 0, 0),
+                p.bool("otp.ledger.shared", true),
+                p.string("otp.ledger.dir", "target/otp-ledger"));
+
+        Users users = new Users(
+                values.get("test.user.email"),
+                values.get("test.user.password"),
+                p.integer("user.pool.lease.timeout", 300, 0));
+
+        int poolSize = p.integer("driver.pool.size", 4, 1);
+        Map<String, Integer> poolSizes = new HashMap<>();
+        for (String key : values.keySet()) {
+            if (key.startsWith("driver.pool.size.")) {
+                poolSizes.put(key.substring("driver.pool.size.".length()), p.integer(key, poolSize, 1));
+            }
+        }
+        DriverPool driverPool = new DriverPool(
+                p.bool("driver.pool.enabled", false),
+                poolSize,
+                Map.copyOf(poolSizes),
+                p.integer("driver.pool.warmup", 1, 0),
+                p.integer("driver.pool.lease.timeout", 300, 0),
+                p.integer("driver.recycle.max.uses", 50, 0),
+                p.integer("driver.recycle.max.age.minutes", 30, 0),
+                p.longValue("driver.recycle.max.heap.mb", 512, 0));
+
+        Session session = new Session(
+                p.bool("session.cache.enabled", false),
+                p.integer("session.cache.ttl.minutes", 60, 1),
+                p.string("session.cache.dir", "target/session-cache"));
+
+        Map<String, String> driverPaths = new HashMap<>();
+        values.forEach((key, value) -> {
+            if (key.startsWith("driver.path.")) {
+                driverPaths.put(key.substring("driver.path.".length()), value);
+            }
+        });
+        Driver driver = new Driver(
+                p.bool("driver.lifecycle.async", false),
+                p.bool("driver.service.shared", false),
+                p.integer("driver.service.health.interval", 10, 1),
+                p.bool("driver.offline", false),
+                Map.copyOf(driverPaths),
+                p.string("driver.resolution.cache",
+                        System.getProperty("user.home") + "/.cache/sf-automation/driver-resolution.properties"));
+
+        Parallel parallel = new Parallel(
+                p.bool("parallel.throttle.enabled", false),
+                p.integer("parallel.throttle.timeout", 120, 0),
+                p.decimal("parallel.cpu.limit", 0.95, 0.0, 1.0),
+                p.longValue("parallel.memory.reserve.mb", 1024, 0),
+                p.longValue("parallel.browser.memory.mb", 512, 1),
+                p.integer("parallel.max.workers", 16, 1));
+
+        if (!p.errors.isEmpty()) {
+            String message = "Invalid configuration:\n  " + String.join("\n  ", p.errors);
+            logger.error(message);
+            throw new IllegalStateException(message);
+        }
+        return new ConfigSnapshot(Map.copyOf(values), browser, waits, navigation, otp, users, driverPool, session,
+                driver, parallel);
+    }
+
+    /**
+     * Get a raw value by key.
+     *
+     * @param key property key
+     * @return value, or null if no layer sets it
+     */
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Get a raw value by key with a default.
+     *
+     * @param key          property key
+     * @param defaultValue value if no layer sets the key
+     * @return value or default
+     */
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public String toString() {
+        // values holds secrets
+        return "ConfigSnapshot[" + values.size() + " values]";
+    }
+
+    private static void loadResource(String name, Map<String, String> values, Map<String, String> sources,
+                                     boolean required) {
+        try (InputStream input = ConfigSnapshot.class.getClassLoader().getResourceAsStream(name)) {
+            if (input == null) {
+                if (required) {
+                    logger.error("Unable to find {}", name);
+                } else {
+                    logger.warn("{} not found - using values from {}, environment variables or system properties",
+                            name, CONFIG_FILE);
+                }
+                return;
+            }
+            Properties properties = new Properties();
+            properties.load(input);
+            properties.stringPropertyNames().forEach(key -> put(values, sources, key, properties.getProperty(key), name));
+            logger.info("Configuration loaded successfully from {}", name);
+        } catch (IOException e) {
+            logger.error("Error loading configuration from {}", name, e);
+        }
+    }
+
+    private static void put(Map<String, String> values, Map<String, String> sources, String key, String value,
+                            String source) {
+        values.put(key, value);
+        sources.put(key, source);
+    }
+
+    /**
+     * Typed parsing that records problems instead of throwing, so all of them can be reported at once.
+     */
+    private static final class Parser {
+        private final Map<String, String> values;
+        private final Map<String, String> sources;
+        private final List<String> errors = new ArrayList<>();
+
+        private Parser(Map<String, String> values, Map<String, String> sources) {
+            this.values = values;
+            this.sources = sources;
+        }
+
+        private String string(String key, String defaultValue) {
+            String value = values.get(key);
+            return value == null || value.isBlank() ? defaultValue : value.trim();
+        }
+
+        private String oneOf(String key, String defaultValue, List<String> options) {
+            String value = string(key, defaultValue);
+            if (options.stream().anyMatch(value::equalsIgnoreCase)) {
+                return value;
+            }
+            return reject(key, value, "one of " + options, defaultValue);
+        }
+
+        private String matching(String key, String defaultValue, Pattern pattern, String expected) {
+            String value = string(key, defaultValue).replace(" ", "");
+            return pattern.matcher(value).matches() ? value : reject(key, value, expected, defaultValue);
+        }
+
+        private boolean bool(String key, boolean defaultValue) {
+            String value = string(key, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+                return Boolean.parseBoolean(value);
+            }
+            return reject(key, value, "true or false", defaultValue);
+        }
+
+        private int integer(String key, int defaultValue, int min) {
+            return (int) longValue(key, defaultValue, min, Integer.MAX_VALUE);
+        }
+
+        private long longValue(String key, long defaultValue, long min) {
+            return longValue(key, defaultValue, min, Long.MAX_VALUE);
+        }
+
+        private long longValue(String key, long defaultValue, long min, long max) {
+            String value = string(key, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                long parsed = Long.parseLong(value);
+                if (parsed >= min && parsed <= max) {
+                    return parsed;
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            return reject(key, value, "a whole number of at least " + min, defaultValue);
+        }
+
+        private double decimal(String key, double defaultValue, double min, double max) {
+            String value = string(key, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                double parsed = Double.parseDouble(value);
+                if (parsed >= min && parsed <= max) {
+                    return parsed;
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            return reject(key, value, "a number from " + min + " to " + max, defaultValue);
+        }
+
+        private <T> T reject(String key, String value, String expected, T defaultValue) {
+            errors.add(key + "=" + value + " (" + sources.get(key) + ") must be " + expected);
+            return defaultValue;
+        }
+    }
+}
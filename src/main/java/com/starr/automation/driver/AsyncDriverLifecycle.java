@@ -0,0 +1,203 @@
+package com.starr.automation.driver;
+
+import com.starr.automation.utils.MetricsUtil;
+import com.starr.automation.utils.ShutdownSequence;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Overlaps browser startup and teardown with test execution.
+ * While a worker runs a test, the driver for its next test is launched on a background thread,
+ * and quit drivers are handed to a reaper thread so the worker can move on immediately.
+ * Hidden latency is recorded in {@link MetricsUtil} under driver.startup.hidden and driver.teardown.hidden.
+ */
+public class AsyncDriverLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncDriverLifecycle.class);
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+    private static final ExecutorService launcher = Executors.newCachedThreadPool(
+            task -> daemon(task, "driver-prelaunch-" + threadCounter.incrementAndGet()));
+    private static final ExecutorService reaper = Executors.newCachedThreadPool(
+            task -> daemon(task, "driver-reaper-" + threadCounter.incrementAndGet()));
+    private static final ThreadLocal<PendingDriver> next = new ThreadLocal<>();
+    private static final Set<PendingDriver> pending = ConcurrentHashMap.newKeySet();
+
+    static {
+        ShutdownSequence.register(ShutdownSequence.Phase.QUIT_DRIVERS, "driver-lifecycle-shutdown",
+                AsyncDriverLifecycle::shutdown);
+    }
+
+    private AsyncDriverLifecycle() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Get a driver for the current worker, using the pre-launched one if it is ready or in flight,
+     * and start launching the worker's next driver in the background.
+     *
+     * @param browserType browser to launch
+     * @return configured WebDriver instance
+     */
+    public static WebDriver acquire(BrowserType browserType) {
+        PendingDriver prelaunched = next.get();
+        next.remove();
+        if (prelaunched != null) {
+            pending.remove(prelaunched);
+        }
+
+        WebDriver webDriver = null;
+        if (prelaunched != null && prelaunched.browserType == browserType) {
+            webDriver = await(prelaunched);
+        } else if (prelaunched != null) {
+            prelaunched.future.thenAccept(AsyncDriverLifecycle::reap);
+        }
+        if (webDriver == null) {
+            long start = System.nanoTime();
+            webDriver = DriverFactory.newDriver(browserType);
+            MetricsUtil.recordNanos("driver.startup", System.nanoTime() - start);
+            MetricsUtil.recordNanos("driver.startup.waited", System.nanoTime() - start);
+        }
+
+        prelaunch(browserType);
+        return webDriver;
+    }
+
+    /**
+     * Quit a driver on the reaper thread without blocking the caller.
+     * Once the reaper has shut down at JVM exit, the driver is quit on the calling thread instead.
+     *
+     * @param webDriver driver to quit
+     */
+    public static void reap(WebDriver webDriver) {
+        if (webDriver == null) {
+            return;
+        }
+        try {
+            reaper.execute(() -> {
+                long start = System.nanoTime();
+                quitQuietly(webDriver);
+                MetricsUtil.recordNanos("driver.teardown.hidden", System.nanoTime() - start);
+            });
+        } catch (RejectedExecutionException e) {
+            quitQuietly(webDriver);
+        }
+    }
+
+    private static void quitQuietly(WebDriver webDriver) {
+        try {
+            DriverFactory.quit(webDriver);
+        } catch (WebDriverException e) {
+            logger.debug("Error quitting reaped driver: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Get the browser startup time that ran in parallel with tests instead of blocking them.
+     *
+     * @return total hidden startup latency
+     */
+    public static Duration getHiddenStartup() {
+        return MetricsUtil.getTotal("driver.startup.hidden");
+    }
+
+    /**
+     * Get the browser teardown time moved off test threads.
+     *
+     * @return total hidden teardown latency
+     */
+    public static Duration getHiddenTeardown() {
+        return MetricsUtil.getTotal("driver.teardown.hidden");
+    }
+
+    /**
+     * Start launching the current worker's next driver.
+     *
+     * @param browserType browser to launch
+     */
+    private static void prelaunch(BrowserType browserType) {
+        PendingDriver pendingDriver = new PendingDriver(browserType, CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            WebDriver webDriver = DriverFactory.newDriver(browserType);
+            return new Launched(webDriver, System.nanoTime() - start);
+        }, launcher));
+        next.set(pendingDriver);
+        pending.add(pendingDriver);
+    }
+
+    /**
+     * Wait for a pre-launched driver and record how much of its startup was hidden.
+     *
+     * @param prelaunched pending driver
+     * @return driver, or null if the background launch failed
+     */
+    private static WebDriver await(PendingDriver prelaunched) {
+        long start = System.nanoTime();
+        try {
+            Launched launched = prelaunched.launch.get();
+            long waited = System.nanoTime() - start;
+            MetricsUtil.recordNanos("driver.startup", launched.startupNanos);
+            MetricsUtil.recordNanos("driver.startup.waited", waited);
+            MetricsUtil.recordNanos("driver.startup.hidden", launched.startupNanos - waited);
+            return launched.webDriver;
+        } catch (ExecutionException e) {
+            logger.warn("Background driver launch failed, launching synchronously", e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for pre-launched driver", e);
+        }
+    }
+
+    /**
+     * Quit drivers that were pre-launched but never used and wait for pending quits.
+     * Launches that finish after the reaper has shut down quit their driver inline (see {@link #reap(WebDriver)}).
+     */
+    private static void shutdown() {
+        pending.forEach(pendingDriver -> pendingDriver.future.thenAccept(AsyncDriverLifecycle::reap));
+        pending.clear();
+        launcher.shutdown();
+        try {
+            // Launches still running hand their driver to the reaper when they complete
+            launcher.awaitTermination(30, TimeUnit.SECONDS);
+            reaper.shutdown();
+            reaper.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Async driver lifecycle hid {} ms of startup and {} ms of teardown",
+                getHiddenStartup().toMillis(), getHiddenTeardown().toMillis());
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private record Launched(WebDriver webDriver, long startupNanos) {
+    }
+
+    private static final class PendingDriver {
+        private final BrowserType browserType;
+        private final CompletableFuture<Launched> launch;
+        private final CompletableFuture<WebDriver> future;
+
+        private PendingDriver(BrowserType browserType, CompletableFuture<Launched> launch) {
+            this.browserType = browserType;
+            this.launch = launch;
+            this.future = launch.thenApply(Launched::webDriver);
+        }
+    }
+}
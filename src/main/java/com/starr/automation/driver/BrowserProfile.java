@@ -0,0 +1,111 @@
+package com.starr.automation.driver;
+
+import com.starr.automation.config.ConfigReader;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named browser performance profiles selected with browser.profile.
+ * DEFAULT keeps the regular maximized browser; LEAN applies a curated set of startup and rendering
+ * options that trim work the browser does which tests do not need.
+ */
+public enum BrowserProfile {
+    DEFAULT,
+    LEAN;
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserProfile.class);
+
+    /**
+     * Get the profile selected by the browser.profile system property or configuration.
+     *
+     * @return active browser profile
+     */
+    public static BrowserProfile current() {
+        String name = ConfigReader.getBrowserProfile();
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown browser profile: {}. Using default", name);
+            return DEFAULT;
+        }
+    }
+
+    /**
+     * Get the name used for this profile in configuration and reports.
+     *
+     * @return lower-case profile name
+     */
+    public String configName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Check whether the window should be maximized after the driver starts.
+     * The lean profile uses a fixed viewport set at launch instead.
+     *
+     * @return true if the window should be maximized
+     */
+    public boolean maximizesWindow() {
+        return this == DEFAULT;
+    }
+
+    /**
+     * Apply profile options to a Chrome or Edge options instance.
+     *
+     * @param options Chromium options
+     */
+    public void applyTo(ChromiumOptions<?> options) {
+        if (this == DEFAULT) {
+            options.addArguments("--start-maximized");
+            return;
+        }
+        options.addArguments("--window-size=" + ConfigReader.getBrowserWindowSize());
+        options.addArguments(
+                "--disable-background-networking",
+                "--disable-component-update",
+                "--disable-default-apps",
+                "--disable-extensions",
+                "--disable-sync",
+                "--disable-client-side-phishing-detection",
+                "--disable-domain-reliability",
+                "--metrics-recording-only",
+                "--no-first-run",
+                "--no-default-browser-check",
+                "--mute-audio");
+        if (ConfigReader.isLeanImageBlocking()) {
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+        }
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+    }
+
+    /**
+     * Apply profile options to a Firefox options instance.
+     *
+     * @param options Firefox options
+     */
+    public void applyTo(FirefoxOptions options) {
+        if (this == DEFAULT) {
+            return;
+        }
+        String[] size = ConfigReader.getBrowserWindowSize().split(",");
+        options.addArguments("--width=" + size[0].trim(), "--height=" + size[1].trim());
+        options.addPreference("app.update.auto", false);
+        options.addPreference("extensions.update.enabled", false);
+        options.addPreference("browser.shell.checkDefaultBrowser", false);
+        options.addPreference("datareporting.healthreport.uploadEnabled", false);
+        options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+        options.addPreference("toolkit.telemetry.enabled", false);
+        options.addPreference("network.prefetch-next", false);
+        options.addPreference("media.autoplay.default", 5);
+        if (ConfigReader.isLeanImageBlocking()) {
+            options.addPreference("permissions.default.image", 2);
+        }
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+    }
+}
@@ -0,0 +1,168 @@
+package com.starr.automation.driver;
+
+import com.starr.automation.config.ConfigReader;
+import com.starr.automation.utils.MetricsUtil;
+import com.starr.automation.utils.ShutdownSequence;
+import com.starr.automation.utils.WaitUtil;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Startup and page-load timings per browser and {@link BrowserProfile}, with page loads split into the login
+ * start page and Lightning pages.
+ * Enabled with browser.profile.report.enabled. Each run writes its averages to
+ * browser-profile-&lt;browser&gt;-&lt;profile&gt;.properties in browser.profile.report.dir, outside target/ so
+ * results survive mvn clean, and when a result for another profile of the same browser exists, logs a
+ * before/after comparison. Run the suite once with -Dbrowser.profile=default and once with
+ * -Dbrowser.profile=lean to compare.
+ */
+public class BrowserProfileReport {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserProfileReport.class);
+    private static final List<String> MEASURES = List.of("startup",
+            "login.domcontentloaded", "login.load", "lightning.domcontentloaded", "lightning.load");
+    // loadEventEnd stays 0 until the load event finishes, which the eager page-load strategy does not wait for
+    private static final String NAVIGATION_TIMING_SCRIPT =
+            "var n = window.performance && performance.getEntriesByType('navigation')[0];"
+                    + "return n && document.readyState === 'complete' && n.loadEventEnd > 0"
+                    + " ? { dcl: n.domContentLoadedEventEnd, load: n.loadEventEnd } : null;";
+
+    static {
+        ShutdownSequence.register(ShutdownSequence.Phase.REPORT, "browser-profile-report",
+                BrowserProfileReport::report);
+    }
+
+    private BrowserProfileReport() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Record how long a browser took to start.
+     *
+     * @param browserType browser type
+     * @param nanos       startup duration in nanoseconds
+     */
+    static void recordStartup(BrowserType browserType, long nanos) {
+        MetricsUtil.recordNanos(metric("startup", browserType, BrowserProfile.current()), nanos);
+    }
+
+    /**
+     * Record navigation timings of the page currently loaded in the driver.
+     * Waits for the load event to finish first, since drivers using the lean profile return from get() earlier.
+     * Does nothing unless browser profile reporting is enabled.
+     *
+     * @param driver WebDriver instance
+     * @param page   kind of page loaded, "login" or "lightning"
+     */
+    @SuppressWarnings("unchecked")
+    public static void recordPageLoad(WebDriver driver, String page) {
+        if (!ConfigReader.isBrowserProfileReportEnabled()) {
+            return;
+        }
+        try {
+            Map<String, Number> timing = (Map<String, Number>) WaitUtil.waitForCondition(driver, null,
+                    NAVIGATION_TIMING_SCRIPT, Duration.ofSeconds(ConfigReader.getExplicitWait()));
+            BrowserType browserType = BrowserType.current();
+            BrowserProfile profile = BrowserProfile.current();
+            recordMillis(metric(page + ".domcontentloaded", browserType, profile), timing.get("dcl"));
+            recordMillis(metric(page + ".load", browserType, profile), timing.get("load"));
+        } catch (WebDriverException | ClassCastException e) {
+            logger.debug("Could not read navigation timing: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write this run's averages and log a comparison against other profiles.
+     */
+    static void report() {
+        if (!ConfigReader.isBrowserProfileReportEnabled()) {
+            return;
+        }
+        for (BrowserType browserType : BrowserType.values()) {
+            BrowserProfile profile = BrowserProfile.current();
+            if (MetricsUtil.getTimerCount(metric("startup", browserType, profile)) == 0) {
+                continue;
+            }
+            Properties current = new Properties();
+            for (String measure : MEASURES) {
+                String name = metric(measure, browserType, profile);
+                long count = MetricsUtil.getTimerCount(name);
+                if (count > 0) {
+                    current.setProperty(measure + ".avg.ms", String.valueOf(MetricsUtil.getTotal(name).toMillis() / count));
+                    current.setProperty(measure + ".count", String.valueOf(count));
+                }
+            }
+            write(reportFile(browserType, profile), current);
+
+            for (BrowserProfile other : BrowserProfile.values()) {
+                Properties baseline = read(reportFile(browserType, other));
+                if (other == profile || baseline == null) {
+                    continue;
+                }
+                for (String measure : MEASURES) {
+                    String before = baseline.getProperty(measure + ".avg.ms");
+                    String after = current.getProperty(measure + ".avg.ms");
+                    if (before != null && after != null) {
+                        long beforeMs = Long.parseLong(before);
+                        long afterMs = Long.parseLong(after);
+                        logger.info("{} {}: {} {} ms -> {} {} ms ({}%)", browserType.configName(), measure,
+                                other.configName(), beforeMs, profile.configName(), afterMs,
+                                beforeMs == 0 ? 0 : (afterMs - beforeMs) * 100 / beforeMs);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String metric(String measure, BrowserType browserType, BrowserProfile profile) {
+        return "browser." + measure + "." + browserType.configName() + "." + profile.configName();
+    }
+
+    private static void recordMillis(String name, Number millis) {
+        if (millis != null && millis.doubleValue() > 0) {
+            MetricsUtil.recordNanos(name, (long) (millis.doubleValue() * 1_000_000));
+        }
+    }
+
+    private static Path reportFile(BrowserType browserType, BrowserProfile profile) {
+        return Paths.get(ConfigReader.getBrowserProfileReportDir(),
+                "browser-profile-" + browserType.configName() + "-" + profile.configName() + ".properties");
+    }
+
+    private static void write(Path file, Properties properties) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream output = Files.newOutputStream(file)) {
+                properties.store(output, "Browser profile timings");
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write browser profile report {}", file, e);
+        }
+    }
+
+    private static Properties read(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+            return properties;
+        } catch (IOException e) {
+            logger.warn("Failed to read browser profile report {}", file, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.starr.automation.driver;
+
+import com.starr.automation.config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+
+/**
+ * Supported browser types.
+ */
+public enum BrowserType {
+    CHROME,
+    FIREFOX,
+    EDGE;
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserType.class);
+
+    /**
+     * Get the browser selected by the browser system property or configuration.
+     *
+     * @return active browser type
+     */
+    public static BrowserType current() {
+        return fromName(ConfigReader.getBrowser());
+    }
+
+    /**
+     * Resolve browser type from its configuration name.
+     * Unknown names fall back to Chrome.
+     *
+     * @param name browser name (e.g., "chrome", "firefox", "edge")
+     * @return matching browser type
+     */
+    public static BrowserType fromName(String name) {
+        if (name != null) {
+            for (BrowserType type : values()) {
+                if (type.configName().equalsIgnoreCase(name.trim())) {
+                    return type;
+                }
+            }
+        }
+        logger.warn("Unknown browser: {}. Defaulting to Chrome", name);
+        return CHROME;
+    }
+
+    /**
+     * Get the name used for this browser in configuration keys.
+     *
+     * @return lower-case browser name
+     */
+    public String configName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
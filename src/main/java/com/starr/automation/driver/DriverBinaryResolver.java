@@ -0,0 +1,210 @@
+package com.starr.automation.driver;
+
+import com.starr.automation.config.ConfigReader;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.Config;
+import io.github.bonigarcia.wdm.online.HttpClient;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves driver binaries (chromedriver, geckodriver, msedgedriver) once per JVM.
+ * Resolved paths are persisted in a local cache keyed by browser and browser major version, so later runs
+ * skip WebDriverManager entirely. Forks share the cache file, so updates are made under a file lock.
+ * In offline mode only pinned local binaries (driver.path.&lt;browser&gt;) are used,
+ * which keeps driver creation working on agents without internet access.
+ */
+public class DriverBinaryResolver {
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryResolver.class);
+    private static final Map<BrowserType, CompletableFuture<Path>> resolutions = new EnumMap<>(BrowserType.class);
+
+    private DriverBinaryResolver() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Start resolving the driver for a browser in the background.
+     *
+     * @param browserType browser type
+     */
+    public static void prefetch(BrowserType browserType) {
+        resolution(browserType);
+    }
+
+    /**
+     * Get the driver binary for a browser, resolving it on first use.
+     * The path is also exported as the Selenium system property for that browser.
+     *
+     * @param browserType browser type
+     * @return path to the driver binary
+     */
+    public static Path resolve(BrowserType browserType) {
+        try {
+            return resolution(browserType).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static synchronized CompletableFuture<Path> resolution(BrowserType browserType) {
+        CompletableFuture<Path> future = resolutions.get(browserType);
+        if (future == null || future.isCompletedExceptionally()) {
+            future = CompletableFuture.supplyAsync(() -> {
+                Path driverPath = doResolve(browserType);
+                System.setProperty(driverProperty(browserType), driverPath.toString());
+                return driverPath;
+            });
+            resolutions.put(browserType, future);
+        }
+        return future;
+    }
+
+    private static Path doResolve(BrowserType browserType) {
+        long start = System.nanoTime();
+        String pinned = ConfigReader.getDriverPath(browserType.configName());
+        if (pinned != null && !pinned.isBlank()) {
+            Path path = Paths.get(pinned);
+            if (!Files.isExecutable(path)) {
+                throw new IllegalStateException("Pinned driver binary is not executable: " + path);
+            }
+            logger.info("Using pinned {} driver at {}", browserType.configName(), path);
+            return path;
+        }
+        if (ConfigReader.isDriverOffline()) {
+            throw new IllegalStateException(String.format(
+                    "driver.offline=true but no driver.path.%s is configured", browserType.configName()));
+        }
+
+        Optional<String> browserVersion = detectBrowserMajorVersion(browserType);
+        String cacheKey = browserType.configName() + "." + browserVersion.orElse("unknown");
+        String cached = loadCache().getProperty(cacheKey);
+        if (browserVersion.isPresent() && cached != null && Files.isExecutable(Paths.get(cached))) {
+            logger.info("Resolved {} driver from local cache: {}", browserType.configName(), cached);
+            return Paths.get(cached);
+        }
+
+        WebDriverManager manager = manager(browserType);
+        browserVersion.ifPresent(manager::browserVersion);
+        manager.setup();
+        Path driverPath = Paths.get(manager.getDownloadedDriverPath());
+        logger.info("Resolved {} driver with WebDriverManager in {} ms: {}", browserType.configName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), driverPath);
+
+        if (browserVersion.isPresent()) {
+            addToCache(cacheKey, driverPath.toString());
+        }
+        return driverPath;
+    }
+
+    /**
+     * Detect the installed browser's major version with WebDriverManager's detection, which knows the
+     * per-platform commands (e.g. the registry on Windows, where browser --version does not work for Chrome).
+     *
+     * @param browserType browser type
+     * @return major version, empty if it could not be detected
+     */
+    private static Optional<String> detectBrowserMajorVersion(BrowserType browserType) {
+        WebDriverManager manager = manager(browserType);
+        Config config = manager.config();
+        try (HttpClient httpClient = new HttpClient(config)) {
+            return new VersionDetector(config, httpClient)
+                    .getBrowserVersionFromTheShell(manager.getDriverManagerType().getBrowserNameLowerCase(),
+                            browserBinary(browserType, config))
+                    .map(VersionDetector::getMajorVersion);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not detect {} version: {}", browserType.configName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String browserBinary(BrowserType browserType, Config config) {
+        return switch (browserType) {
+            case CHROME -> config.getChromeBinary();
+            case FIREFOX -> config.getFirefoxBinary();
+            case EDGE -> config.getEdgeBinary();
+        };
+    }
+
+    private static Properties loadCache() {
+        Properties cache = new Properties();
+        Path file = Paths.get(ConfigReader.getDriverResolutionCache());
+        if (Files.exists(file)) {
+            try (InputStream input = Files.newInputStream(file)) {
+                cache.load(input);
+            } catch (IOException e) {
+                logger.warn("Failed to read driver resolution cache {}", file, e);
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Add one resolved driver to the cache file.
+     * The file is re-read and rewritten while holding a lock shared with other forks, so concurrent resolutions
+     * never drop each other's entries, and is replaced atomically so readers never see a partial file.
+     *
+     * @param key        cache key of browser and major version
+     * @param driverPath resolved driver path
+     */
+    private static synchronized void addToCache(String key, String driverPath) {
+        Path file = Paths.get(ConfigReader.getDriverResolutionCache()).toAbsolutePath();
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    Properties cache = loadCache();
+                    cache.setProperty(key, driverPath);
+                    Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+                    try (OutputStream output = Files.newOutputStream(temp)) {
+                        cache.store(output, "Resolved WebDriver binaries by browser major version");
+                    }
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write driver resolution cache {}", file, e);
+        }
+    }
+
+    private static WebDriverManager manager(BrowserType browserType) {
+        return switch (browserType) {
+            case CHROME -> WebDriverManager.chromedriver();
+            case FIREFOX -> WebDriverManager.firefoxdriver();
+            case EDGE -> WebDriverManager.edgedriver();
+        };
+    }
+
+    private static String driverProperty(BrowserType browserType) {
+        return switch (browserType) {
+            case CHROME -> "webdriver.chrome.driver";
+            case FIREFOX -> "webdriver.gecko.driver";
+            case EDGE -> "webdriver.edge.driver";
+        };
+    }
+}
@@ -1,7 +1,6 @@
 package com.starr.automation.driver;
 
 import com.starr.automation.config.ConfigReader;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -12,6 +11,7 @@ import org.openqa.selenium.firefox.FirefoxOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.time.Duration;
 
 /**
@@ -21,6 +21,11 @@ public class DriverFactory {
     private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
     private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
 
+    static {
+        // Resolve the driver binary while the test engine is still starting up
+        DriverBinaryResolver.prefetch(BrowserType.current());
+    }
+
     private DriverFactory() {
         // Private constructor to prevent instantiation
     }
@@ -38,61 +43,129 @@ public class DriverFactory {
     }
 
     /**
-     * Create a new WebDriver instance based on configuration.
+     * Create or lease a WebDriver instance for the current thread based on configuration.
      */
     private static void createDriver() {
-        String browser = System.getProperty("browser", ConfigReader.getBrowser());
-        logger.info("Creating {} driver", browser);
-
-        WebDriver webDriver = switch (browser.toLowerCase()) {
-            case "chrome" -> createChromeDriver();
-            case "firefox" -> createFirefoxDriver();
-            case "edge" -> createEdgeDriver();
-            default -> {
-                logger.warn("Unknown browser: {}. Defaulting to Chrome", browser);
-                yield createChromeDriver();
-            }
-        };
+        BrowserType browserType = BrowserType.current();
+        if (ConfigReader.isLeaseThrottlingEnabled()) {
+            ResourceGovernor.awaitCapacity();
+        }
 
-        configureDriver(webDriver);
+        WebDriver webDriver;
+        if (ConfigReader.isDriverPoolEnabled() && DriverPool.supports(browserType)) {
+            webDriver = DriverPool.forBrowser(browserType).checkout();
+        } else if (ConfigReader.isAsyncDriverLifecycle()) {
+            webDriver = AsyncDriverLifecycle.acquire(browserType);
+        } else {
+            webDriver = newDriver(browserType);
+        }
         driver.set(webDriver);
     }
 
+    /**
+     * Launch and configure a new WebDriver instance.
+     *
+     * @param browserType browser to launch
+     * @return configured WebDriver instance
+     */
+    static WebDriver newDriver(BrowserType browserType) {
+        if (!ProfileTemplate.appliesTo(browserType)) {
+            return newDriver(browserType, null);
+        }
+        Path clone = ProfileTemplate.cloneFor(browserType);
+        WebDriver webDriver;
+        try {
+            webDriver = newDriver(browserType, clone);
+        } catch (RuntimeException e) {
+            ProfileTemplate.discard(clone);
+            throw e;
+        }
+        ProfileTemplate.attach(webDriver, clone);
+        return webDriver;
+    }
+
+    /**
+     * Quit a driver and delete the profile clone it was launched with.
+     *
+     * @param webDriver driver to quit
+     */
+    static void quit(WebDriver webDriver) {
+        try {
+            webDriver.quit();
+        } finally {
+            ProfileTemplate.release(webDriver);
+        }
+    }
+
+    /**
+     * Launch and configure a new WebDriver instance using a specific browser profile directory.
+     *
+     * @param browserType browser to launch
+     * @param userDataDir Chromium user-data-dir to start from, or null for a fresh temporary profile
+     * @return configured WebDriver instance
+     */
+    static WebDriver newDriver(BrowserType browserType, Path userDataDir) {
+        ResourceGovernor.startSampling();
+        BrowserProfile profile = BrowserProfile.current();
+        logger.info("Creating {} driver with {} profile", browserType.configName(), profile.configName());
+
+        long start = System.nanoTime();
+        WebDriver webDriver = switch (browserType) {
+            case CHROME -> createChromeDriver(profile, userDataDir);
+            case FIREFOX -> createFirefoxDriver(profile);
+            case EDGE -> createEdgeDriver(profile, userDataDir);
+        };
+
+        configureDriver(webDriver, profile);
+        BrowserProfileReport.recordStartup(browserType, System.nanoTime() - start);
+        return webDriver;
+    }
+
     /**
      * Create Chrome WebDriver.
      *
+     * @param profile     browser performance profile
+     * @param userDataDir user-data-dir to start from, or null for a fresh temporary profile
      * @return Chrome WebDriver instance
      */
-    private static WebDriver createChromeDriver() {
-        WebDriverManager.chromedriver().setup();
+    private static WebDriver createChromeDriver(BrowserProfile profile, Path userDataDir) {
+        DriverBinaryResolver.resolve(BrowserType.CHROME);
         ChromeOptions options = new ChromeOptions();
 
         if (ConfigReader.isHeadless()) {
             options.addArguments("--headless=new");
         }
 
-        options.addArguments("--start-maximized");
+        profile.applyTo(options);
+        if (userDataDir != null) {
+            options.addArguments("--user-data-dir=" + userDataDir.toAbsolutePath());
+        }
         options.addArguments("--disable-notifications");
         options.addArguments("--disable-popup-blocking");
         options.addArguments("--disable-blink-features=AutomationControlled");
         options.setAcceptInsecureCerts(true);
 
+        if (ConfigReader.isSharedDriverService()) {
+            return DriverServiceManager.newSession(BrowserType.CHROME, options);
+        }
         return new ChromeDriver(options);
     }
 
     /**
      * Create Firefox WebDriver.
      *
+     * @param profile browser performance profile
      * @return Firefox WebDriver instance
      */
-    private static WebDriver createFirefoxDriver() {
-        WebDriverManager.firefoxdriver().setup();
+    private static WebDriver createFirefoxDriver(BrowserProfile profile) {
+        DriverBinaryResolver.resolve(BrowserType.FIREFOX);
         FirefoxOptions options = new FirefoxOptions();
 
         if (ConfigReader.isHeadless()) {
             options.addArguments("--headless");
         }
 
+        profile.applyTo(options);
         options.setAcceptInsecureCerts(true);
 
         return new FirefoxDriver(options);
@@ -101,19 +174,27 @@ public class DriverFactory {
     /**
      * Create Edge WebDriver.
      *
+     * @param profile     browser performance profile
+     * @param userDataDir user-data-dir to start from, or null for a fresh temporary profile
      * @return Edge WebDriver instance
      */
-    private static WebDriver createEdgeDriver() {
-        WebDriverManager.edgedriver().setup();
+    private static WebDriver createEdgeDriver(BrowserProfile profile, Path userDataDir) {
+        DriverBinaryResolver.resolve(BrowserType.EDGE);
         EdgeOptions options = new EdgeOptions();
 
         if (ConfigReader.isHeadless()) {
             options.addArguments("--headless");
         }
 
-        options.addArguments("--start-maximized");
+        profile.applyTo(options);
+        if (userDataDir != null) {
+            options.addArguments("--user-data-dir=" + userDataDir.toAbsolutePath());
+        }
         options.setAcceptInsecureCerts(true);
 
+        if (ConfigReader.isSharedDriverService()) {
+            return DriverServiceManager.newSession(BrowserType.EDGE, options);
+        }
         return new EdgeDriver(options);
     }
 
@@ -121,24 +202,38 @@ public class DriverFactory {
      * Configure WebDriver timeouts and settings.
      *
      * @param webDriver WebDriver instance to configure
+     * @param profile   browser performance profile
      */
-    private static void configureDriver(WebDriver webDriver) {
+    private static void configureDriver(WebDriver webDriver, BrowserProfile profile) {
         webDriver.manage().timeouts()
-                .implicitlyWait(Duration.ofSeconds(ConfigReader.getImplicitWait()));
+                .implicitlyWait(ConfigReader.getEffectiveImplicitWait());
         webDriver.manage().timeouts()
                 .pageLoadTimeout(Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
-        webDriver.manage().window().maximize();
+        if (profile.maximizesWindow()) {
+            webDriver.manage().window().maximize();
+        }
     }
 
     /**
      * Quit the WebDriver instance for the current thread.
+     * Pooled drivers are reset and returned to their pool instead of being quit,
+     * and in async lifecycle mode the quit runs on a background reaper thread.
      */
     public static void quitDriver() {
-        if (driver.get() != null) {
-            logger.info("Quitting WebDriver");
-            driver.get().quit();
+        WebDriver webDriver = driver.get();
+        if (webDriver != null) {
             driver.remove();
+            if (ConfigReader.isDriverPoolEnabled() && DriverPool.release(webDriver)) {
+                logger.info("Returned WebDriver to pool");
+                return;
+            }
+            if (ConfigReader.isAsyncDriverLifecycle()) {
+                logger.info("Handing WebDriver to async reaper");
+                AsyncDriverLifecycle.reap(webDriver);
+                return;
+            }
+            logger.info("Quitting WebDriver");
+            quit(webDriver);
         }
     }
 }
-
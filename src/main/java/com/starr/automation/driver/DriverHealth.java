@@ -0,0 +1,214 @@
+package com.starr.automation.driver;
+
+import com.starr.automation.config.ConfigReader;
+import com.starr.automation.utils.MetricsUtil;
+import com.starr.automation.utils.ShutdownSequence;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Tracks use count, age and JS heap size of long-lived (pooled) driver sessions and decides when a session
+ * should be recycled. Heap size is read with CDP Performance.getMetrics on Chrome and Edge and with
+ * performance.memory where CDP is not available; Firefox exposes neither, so only uses and age apply there.
+ * Recycle events and per-session memory samples are exported as CSV to target/metrics at JVM exit.
+ */
+public class DriverHealth {
+    private static final Logger logger = LoggerFactory.getLogger(DriverHealth.class);
+    private static final String METRICS_DIR = "target/metrics";
+    private static final long MB = 1024L * 1024L;
+    private static final String HEAP_SCRIPT =
+            "return window.performance && performance.memory ? performance.memory.usedJSHeapSize : null;";
+    private static final Map<WebDriver, SessionStats> sessions = new ConcurrentHashMap<>();
+    private static final Queue<String> memoryRows = new ConcurrentLinkedQueue<>();
+    private static final Queue<String> recycleRows = new ConcurrentLinkedQueue<>();
+
+    static {
+        ShutdownSequence.register(ShutdownSequence.Phase.REPORT, "driver-health-export", DriverHealth::export);
+    }
+
+    private DriverHealth() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Start tracking a newly launched driver.
+     *
+     * @param webDriver   driver instance
+     * @param browserType browser type
+     */
+    public static void register(WebDriver webDriver, BrowserType browserType) {
+        sessions.put(webDriver, new SessionStats(sessionId(webDriver), browserType, System.currentTimeMillis()));
+    }
+
+    /**
+     * Record that a test finished using a driver and sample its memory.
+     * Call before the session is reset so the sample reflects the page the test left behind.
+     *
+     * @param webDriver driver instance
+     */
+    public static void recordUse(WebDriver webDriver) {
+        SessionStats stats = sessions.get(webDriver);
+        if (stats == null) {
+            return;
+        }
+        stats.uses++;
+        stats.heapBytes = readHeapBytes(webDriver, stats);
+        memoryRows.add(String.join(",", String.valueOf(System.currentTimeMillis()), stats.browserType.configName(),
+                stats.sessionId, String.valueOf(stats.uses), String.valueOf(stats.age().toSeconds()),
+                stats.heapBytes < 0 ? "" : String.valueOf(stats.heapBytes / MB)));
+    }
+
+    /**
+     * Check whether a driver crossed any recycling threshold.
+     *
+     * @param webDriver driver instance
+     * @return reason for recycling, empty if the session can be reused
+     */
+    public static Optional<String> recycleReason(WebDriver webDriver) {
+        SessionStats stats = sessions.get(webDriver);
+        if (stats == null) {
+            return Optional.empty();
+        }
+        int maxUses = ConfigReader.getDriverRecycleMaxUses();
+        if (maxUses > 0 && stats.uses >= maxUses) {
+            return Optional.of("uses");
+        }
+        int maxAgeMinutes = ConfigReader.getDriverRecycleMaxAgeMinutes();
+        if (maxAgeMinutes > 0 && stats.age().toMinutes() >= maxAgeMinutes) {
+            return Optional.of("age");
+        }
+        long maxHeapMb = ConfigReader.getDriverRecycleMaxHeapMb();
+        if (maxHeapMb > 0 && stats.heapBytes >= maxHeapMb * MB) {
+            return Optional.of("heap");
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Record that a driver is being recycled and stop tracking it.
+     *
+     * @param webDriver driver instance
+     * @param reason    threshold that was crossed
+     */
+    public static void recordRecycle(WebDriver webDriver, String reason) {
+        SessionStats stats = sessions.remove(webDriver);
+        if (stats == null) {
+            return;
+        }
+        MetricsUtil.increment("driver.recycle." + reason);
+        recycleRows.add(String.join(",", String.valueOf(System.currentTimeMillis()), stats.browserType.configName(),
+                stats.sessionId, reason, String.valueOf(stats.uses), String.valueOf(stats.age().toSeconds()),
+                stats.heapBytes < 0 ? "" : String.valueOf(stats.heapBytes / MB)));
+        logger.info("Recycling {} driver {} after {} uses, {} s ({})", stats.browserType.configName(),
+                stats.sessionId, stats.uses, stats.age().toSeconds(), reason);
+    }
+
+    /**
+     * Stop tracking a driver that was quit for reasons other than recycling.
+     *
+     * @param webDriver driver instance
+     */
+    public static void forget(WebDriver webDriver) {
+        sessions.remove(webDriver);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long readHeapBytes(WebDriver webDriver, SessionStats stats) {
+        try {
+            if (webDriver instanceof HasCdp cdp) {
+                if (!stats.cdpMetricsEnabled) {
+                    cdp.executeCdpCommand("Performance.enable", Map.of());
+                    stats.cdpMetricsEnabled = true;
+                }
+                Map<String, Object> result = cdp.executeCdpCommand("Performance.getMetrics", Map.of());
+                for (Map<String, Object> metric : (List<Map<String, Object>>) result.get("metrics")) {
+                    if ("JSHeapUsedSize".equals(metric.get("name"))) {
+                        return ((Number) metric.get("value")).longValue();
+                    }
+                }
+                return -1;
+            }
+            Object heap = ((JavascriptExecutor) webDriver).executeScript(HEAP_SCRIPT);
+            return heap instanceof Number number ? number.longValue() : -1;
+        } catch (WebDriverException | ClassCastException e) {
+            logger.debug("Could not read JS heap size: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private static String sessionId(WebDriver webDriver) {
+        if (webDriver instanceof RemoteWebDriver remote && remote.getSessionId() != null) {
+            return remote.getSessionId().toString();
+        }
+        return Integer.toHexString(System.identityHashCode(webDriver));
+    }
+
+    /**
+     * Write memory samples and recycle events as CSV files.
+     */
+    static void export() {
+        String pid = String.valueOf(ProcessHandle.current().pid());
+        writeCsv(Paths.get(METRICS_DIR, "driver-memory-" + pid + ".csv"),
+                "timestamp,browser,session,use,age_seconds,heap_mb", memoryRows);
+        writeCsv(Paths.get(METRICS_DIR, "driver-recycle-" + pid + ".csv"),
+                "timestamp,browser,session,reason,uses,age_seconds,heap_mb", recycleRows);
+    }
+
+    private static void writeCsv(Path file, String header, Queue<String> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(header);
+                writer.write(System.lineSeparator());
+                for (String row : rows) {
+                    writer.write(row);
+                    writer.write(System.lineSeparator());
+                }
+            }
+            logger.info("Driver health data written to {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to write driver health data to {}", file, e);
+        }
+    }
+
+    private static final class SessionStats {
+        private final String sessionId;
+        private final BrowserType browserType;
+        private final long createdAtMillis;
+        private volatile int uses;
+        private volatile long heapBytes = -1;
+        private volatile boolean cdpMetricsEnabled;
+
+        private SessionStats(String sessionId, BrowserType browserType, long createdAtMillis) {
+            this.sessionId = sessionId;
+            this.browserType = browserType;
+            this.createdAtMillis = createdAtMillis;
+        }
+
+        private Duration age() {
+            return Duration.ofMillis(System.currentTimeMillis() - createdAtMillis);
+        }
+    }
+}
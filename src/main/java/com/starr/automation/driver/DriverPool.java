@@ -0,0 +1,370 @@
+package com.starr.automation.driver;
+
+import com.starr.automation.config.ConfigReader;
+import com.starr.automation.utils.ShutdownSequence;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of pre-launched WebDriver sessions for a single browser type.
+ * Drivers are leased to tests with {@link #checkout()} and handed back with {@link #checkin(WebDriver)},
+ * which resets the session so the next test starts from a clean browser.
+ * Sessions that cross the {@link DriverHealth} recycling thresholds are quit on check-in and replaced
+ * in the background. Only Chromium browsers are pooled, since sessions are reset through CDP.
+ */
+public class DriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+    private static final Map<BrowserType, DriverPool> pools = new ConcurrentHashMap<>();
+    private static final String CLEARED_STORAGE_TYPES =
+            "local_storage,indexeddb,websql,cache_storage,service_workers,file_systems,shader_cache";
+    private static final List<String> LOGIN_ORIGINS =
+            List.of("https://login.salesforce.com", "https://test.salesforce.com");
+    private static final List<String> MY_DOMAIN_SUFFIXES =
+            List.of(".my.salesforce.com", ".lightning.force.com", ".my.salesforce-setup.com");
+
+    private final BrowserType browserType;
+    private final int maxSize;
+    private final Semaphore permits;
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private final Set<WebDriver> leased = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger warming = new AtomicInteger();
+
+    static {
+        ShutdownSequence.register(ShutdownSequence.Phase.QUIT_DRIVERS, "driver-pool-shutdown", DriverPool::shutdownAll);
+    }
+
+    private DriverPool(BrowserType browserType, int maxSize) {
+        this.browserType = browserType;
+        this.maxSize = maxSize;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Check whether a browser can be pooled.
+     * Firefox has no CDP, so its sessions could only be reset by loading a page on every Salesforce origin.
+     *
+     * @param browserType browser type
+     * @return true for Chromium based browsers
+     */
+    public static boolean supports(BrowserType browserType) {
+        return browserType == BrowserType.CHROME || browserType == BrowserType.EDGE;
+    }
+
+    /**
+     * Get the pool for a browser type, creating and warming it up on first use.
+     *
+     * @param browserType browser type, see {@link #supports(BrowserType)}
+     * @return driver pool for that browser
+     */
+    public static DriverPool forBrowser(BrowserType browserType) {
+        return pools.computeIfAbsent(browserType, type -> {
+            int size = Math.max(1, ConfigReader.getDriverPoolSize(type.configName()));
+            DriverPool pool = new DriverPool(type, size);
+            pool.warmUp(Math.min(size, ConfigReader.getDriverPoolWarmup()));
+            return pool;
+        });
+    }
+
+    /**
+     * Lease a driver from the pool, launching a new one if no idle session is available.
+     * Blocks while the pool is at capacity.
+     *
+     * @return healthy WebDriver instance
+     * @throws IllegalStateException if no driver becomes available within the lease timeout
+     */
+    public WebDriver checkout() {
+        acquirePermit();
+        try {
+            WebDriver webDriver;
+            while ((webDriver = nextIdle()) != null) {
+                if (isHealthy(webDriver)) {
+                    break;
+                }
+                logger.warn("Evicting unhealthy pooled {} driver", browserType.configName());
+                evict(webDriver);
+            }
+            if (webDriver == null) {
+                webDriver = launch();
+            }
+            leased.add(webDriver);
+            logger.debug("Leased {} driver ({} leased, {} idle)", browserType.configName(), leased.size(), idle.size());
+            return webDriver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a leased driver to the pool.
+     * The session is reset; drivers that fail to reset are evicted.
+     *
+     * @param webDriver driver previously leased from this pool
+     * @return true if the driver belonged to this pool
+     */
+    public boolean checkin(WebDriver webDriver) {
+        if (!leased.remove(webDriver)) {
+            return false;
+        }
+        boolean recycled = false;
+        try {
+            DriverHealth.recordUse(webDriver);
+            Optional<String> recycleReason = DriverHealth.recycleReason(webDriver);
+            if (recycleReason.isPresent()) {
+                DriverHealth.recordRecycle(webDriver, recycleReason.get());
+                evict(webDriver);
+                recycled = true;
+            } else {
+                reset(webDriver);
+                idle.offerFirst(webDriver);
+                logger.debug("Returned {} driver to pool", browserType.configName());
+            }
+        } catch (WebDriverException e) {
+            logger.warn("Failed to reset pooled {} driver, evicting it", browserType.configName(), e);
+            evict(webDriver);
+        } finally {
+            permits.release();
+        }
+        if (recycled) {
+            warmUp(1);
+        }
+        return true;
+    }
+
+    /**
+     * Return a driver to whichever existing pool leased it.
+     *
+     * @param webDriver driver to release
+     * @return true if the driver was pooled
+     */
+    public static boolean release(WebDriver webDriver) {
+        for (DriverPool pool : pools.values()) {
+            if (pool.checkin(webDriver)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Quit every idle and leased driver in this pool.
+     */
+    public void shutdown() {
+        List<WebDriver> drivers = new ArrayList<>(leased);
+        leased.clear();
+        idle.drainTo(drivers);
+        logger.info("Shutting down {} pool ({} drivers)", browserType.configName(), drivers.size());
+        drivers.forEach(this::evict);
+    }
+
+    /**
+     * Shut down all driver pools.
+     */
+    public static void shutdownAll() {
+        pools.values().forEach(DriverPool::shutdown);
+        pools.clear();
+    }
+
+    /**
+     * Pre-launch drivers on background threads so the first tests do not pay browser startup.
+     *
+     * @param count number of drivers to launch
+     */
+    private void warmUp(int count) {
+        logger.info("Warming up {} pool with {} of {} drivers", browserType.configName(), count, maxSize);
+        for (int i = 0; i < count; i++) {
+            warming.incrementAndGet();
+            Thread warmer = new Thread(() -> {
+                if (!permits.tryAcquire()) {
+                    warming.decrementAndGet();
+                    return;
+                }
+                try {
+                    idle.offerLast(launch());
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to pre-launch {} driver", browserType.configName(), e);
+                } finally {
+                    warming.decrementAndGet();
+                    permits.release();
+                }
+            }, "driver-pool-warmup-" + browserType.configName() + "-" + i);
+            warmer.setDaemon(true);
+            warmer.start();
+        }
+    }
+
+    /**
+     * Launch a new driver and start tracking its health.
+     *
+     * @return new WebDriver instance
+     */
+    private WebDriver launch() {
+        WebDriver webDriver = DriverFactory.newDriver(browserType);
+        DriverHealth.register(webDriver, browserType);
+        return webDriver;
+    }
+
+    /**
+     * Take the next idle driver, waiting for in-flight warm-ups rather than launching a duplicate browser.
+     *
+     * @return idle driver or null if none is available
+     */
+    private WebDriver nextIdle() {
+        WebDriver webDriver = idle.pollFirst();
+        try {
+            while (webDriver == null && warming.get() > 0) {
+                webDriver = idle.pollFirst(100, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled driver", e);
+        }
+        return webDriver;
+    }
+
+    /**
+     * Wait for a free lease slot.
+     */
+    private void acquirePermit() {
+        int timeout = ConfigReader.getDriverPoolLeaseTimeout();
+        try {
+            if (!permits.tryAcquire(timeout, TimeUnit.SECONDS)) {
+                throw new IllegalStateException(String.format(
+                        "No %s driver became available within %d seconds (pool size %d)",
+                        browserType.configName(), timeout, maxSize));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled driver", e);
+        }
+    }
+
+    /**
+     * Reset a session between leases: replace all windows with one fresh tab, so no session storage survives,
+     * then clear cookies and persistent storage of every Salesforce origin the session may have touched.
+     *
+     * @param webDriver Chromium driver to reset
+     */
+    private void reset(WebDriver webDriver) {
+        Set<String> origins = new LinkedHashSet<>(storageOrigins());
+        originOf(webDriver.getCurrentUrl()).ifPresent(origins::add);
+
+        List<String> handles = new ArrayList<>(webDriver.getWindowHandles());
+        webDriver.switchTo().window(handles.get(0));
+        webDriver.switchTo().newWindow(WindowType.TAB);
+        String fresh = webDriver.getWindowHandle();
+        for (String handle : handles) {
+            webDriver.switchTo().window(handle).close();
+        }
+        webDriver.switchTo().window(fresh);
+
+        clearBrowserData((HasCdp) webDriver, origins);
+        webDriver.get("about:blank");
+    }
+
+    /**
+     * Clear cookies for every domain and persistent storage of the given origins through CDP.
+     *
+     * @param cdp     Chromium driver
+     * @param origins origins whose storage is cleared
+     */
+    static void clearBrowserData(HasCdp cdp, Set<String> origins) {
+        // Clears cookies for every domain, not only the current one
+        cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        for (String origin : origins) {
+            try {
+                cdp.executeCdpCommand("Storage.clearDataForOrigin",
+                        Map.of("origin", origin, "storageTypes", CLEARED_STORAGE_TYPES));
+            } catch (WebDriverException e) {
+                logger.debug("Could not clear storage for {}: {}", origin, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get the origins a Salesforce session stores data on: the login origins, the org's My Domain and the
+     * Lightning, Setup and Visualforce origins derived from it.
+     *
+     * @return origins to clear between leases
+     */
+    static Set<String> storageOrigins() {
+        Set<String> origins = new LinkedHashSet<>(LOGIN_ORIGINS);
+        Optional<String> base = originOf(ConfigReader.getBaseUrl());
+        base.ifPresent(origins::add);
+        base.map(origin -> URI.create(origin).getHost()).ifPresent(host -> {
+            for (String suffix : MY_DOMAIN_SUFFIXES) {
+                if (host.endsWith(suffix)) {
+                    String myDomain = host.substring(0, host.length() - suffix.length());
+                    origins.add("https://" + myDomain + ".my.salesforce.com");
+                    origins.add("https://" + myDomain + ".lightning.force.com");
+                    origins.add("https://" + myDomain + ".my.salesforce-setup.com");
+                    origins.add("https://" + myDomain + "--c.vf.force.com");
+                    break;
+                }
+            }
+        });
+        return origins;
+    }
+
+    static Optional<String> originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getScheme() == null || !uri.getScheme().startsWith("http") || uri.getAuthority() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(uri.getScheme() + "://" + uri.getAuthority());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Check whether a pooled session is still usable.
+     *
+     * @param webDriver driver to check
+     * @return true if the session responds
+     */
+    private boolean isHealthy(WebDriver webDriver) {
+        try {
+            if (webDriver instanceof RemoteWebDriver remote && remote.getSessionId() == null) {
+                return false;
+            }
+            return !webDriver.getWindowHandles().isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Quit a driver, ignoring failures from sessions that are already gone.
+     *
+     * @param webDriver driver to quit
+     */
+    private void evict(WebDriver webDriver) {
+        DriverHealth.forget(webDriver);
+        try {
+            DriverFactory.quit(webDriver);
+        } catch (WebDriverException e) {
+            logger.debug("Error quitting evicted driver: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.starr.automation.driver;
+
+import com.starr.automation.config.ConfigReader;
+import com.starr.automation.utils.MetricsUtil;
+import com.starr.automation.utils.ShutdownSequence;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manages long-lived driver server processes (chromedriver, msedgedriver) shared by every session in the JVM.
+ * Sessions attach to the running service over HTTP instead of spawning their own server process.
+ * Services are health checked in the background and restarted if they die.
+ * Firefox is not supported because geckodriver only hosts a single session per process.
+ */
+public class DriverServiceManager {
+    private static final Logger logger = LoggerFactory.getLogger(DriverServiceManager.class);
+    private static final Map<BrowserType, DriverService> services = new EnumMap<>(BrowserType.class);
+    private static ScheduledExecutorService healthMonitor;
+
+    static {
+        ShutdownSequence.register(ShutdownSequence.Phase.STOP_SERVICES, "driver-service-shutdown",
+                DriverServiceManager::stopAll);
+    }
+
+    private DriverServiceManager() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Check whether a browser can share a driver service between sessions.
+     *
+     * @param browserType browser type
+     * @return true for Chromium based browsers
+     */
+    public static boolean supports(BrowserType browserType) {
+        return browserType == BrowserType.CHROME || browserType == BrowserType.EDGE;
+    }
+
+    /**
+     * Start a new browser session on the shared driver service.
+     *
+     * @param browserType browser type
+     * @param options     browser options
+     * @return WebDriver attached to the shared service, augmented with browser specific interfaces such as CDP
+     */
+    public static WebDriver newSession(BrowserType browserType, Capabilities options) {
+        DriverService service = serviceFor(browserType);
+        WebDriver webDriver = new RemoteWebDriver(service.getUrl(), options);
+        return new Augmenter().augment(webDriver);
+    }
+
+    /**
+     * Get the running service for a browser, starting or restarting it when needed.
+     *
+     * @param browserType browser type
+     * @return running driver service
+     */
+    public static synchronized DriverService serviceFor(BrowserType browserType) {
+        if (!supports(browserType)) {
+            throw new IllegalArgumentException("Shared driver service is not supported for " + browserType.configName());
+        }
+        DriverService service = services.get(browserType);
+        if (service != null && service.isRunning()) {
+            MetricsUtil.increment("driver.service.reuses");
+            return service;
+        }
+        if (service != null) {
+            logger.warn("Shared {} driver service is not running, restarting it", browserType.configName());
+            MetricsUtil.increment("driver.service.restarts");
+        }
+        return start(browserType);
+    }
+
+    /**
+     * Stop all shared services.
+     */
+    public static synchronized void stopAll() {
+        if (healthMonitor != null) {
+            healthMonitor.shutdownNow();
+            healthMonitor = null;
+        }
+        services.forEach((browserType, service) -> {
+            logger.info("Stopping shared {} driver service", browserType.configName());
+            service.stop();
+        });
+        services.clear();
+    }
+
+    private static DriverService start(BrowserType browserType) {
+        DriverService service = switch (browserType) {
+            case CHROME -> new ChromeDriverService.Builder().usingAnyFreePort().build();
+            case EDGE -> new EdgeDriverService.Builder().usingAnyFreePort().build();
+            case FIREFOX -> throw new IllegalArgumentException("Firefox cannot share a driver service");
+        };
+        long start = System.nanoTime();
+        try {
+            service.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start " + browserType.configName() + " driver service", e);
+        }
+        long elapsed = System.nanoTime() - start;
+        MetricsUtil.recordNanos("driver.service.spawn", elapsed);
+        services.put(browserType, service);
+        logger.info("Started shared {} driver service at {} in {} ms",
+                browserType.configName(), service.getUrl(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        startHealthMonitor();
+        return service;
+    }
+
+    private static void startHealthMonitor() {
+        if (healthMonitor != null) {
+            return;
+        }
+        int interval = ConfigReader.getDriverServiceHealthInterval();
+        healthMonitor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "driver-service-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthMonitor.scheduleWithFixedDelay(DriverServiceManager::checkHealth, interval, interval, TimeUnit.SECONDS);
+    }
+
+    private static synchronized void checkHealth() {
+        for (BrowserType browserType : services.keySet().toArray(new BrowserType[0])) {
+            if (!services.get(browserType).isRunning()) {
+                logger.warn("Shared {} driver service crashed, restarting it", browserType.configName());
+                MetricsUtil.increment("driver.service.restarts");
+                try {
+                    start(browserType);
+                } catch (RuntimeException e) {
+                    logger.error("Failed to restart {} driver service", browserType.configName(), e);
+                }
+            }
+        }
+    }
+}
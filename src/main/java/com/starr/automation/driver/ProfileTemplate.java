@@ -0,0 +1,402 @@
+package com.starr.automation.driver;
+
+import com.starr.automation.config.ConfigReader;
+import com.starr.automation.session.SessionManager;
+import com.starr.automation.session.TestUser;
+import com.starr.automation.session.UserPool;
+import com.starr.automation.utils.MetricsUtil;
+import com.starr.automation.utils.ShutdownSequence;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Warm browser profile template for Chrome and Edge.
+ * A template user-data-dir is warmed once per browser by loading the org (logged in when credentials are
+ * available) so Lightning's static resources land in the HTTP cache, then cookies and storage are cleared.
+ * With the session cache enabled, the first Lightning home page load of the cached session is then timed in an
+ * empty profile and in a clone, as profile.firstload.cold and profile.firstload.warm. Each new driver
+ * gets its own clone of the template, created with a copy-on-write reflink when the filesystem supports it
+ * and a regular copy otherwise. Hardlinks are not used because Chromium rewrites cache entries in place,
+ * which would leak writes back into the shared template. Each clone is deleted when its driver quits (see
+ * {@link DriverFactory#quit(WebDriver)}); clones still present at JVM exit are deleted once every driver has
+ * quit, and clones left by JVMs that are no longer running are removed on startup.
+ */
+public class ProfileTemplate {
+    private static final Logger logger = LoggerFactory.getLogger(ProfileTemplate.class);
+    private static final String WARM_MARKER = ".warm";
+    private static final Map<BrowserType, Path> templates = new ConcurrentHashMap<>();
+    private static final Map<BrowserType, Object> templateLocks = new EnumMap<>(BrowserType.class);
+    private static final AtomicInteger cloneCounter = new AtomicInteger();
+    private static final Map<WebDriver, Path> clonesByDriver = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static volatile Boolean reflinkSupported;
+
+    static {
+        for (BrowserType browserType : BrowserType.values()) {
+            templateLocks.put(browserType, new Object());
+        }
+        if (ConfigReader.isProfileTemplateEnabled()) {
+            deleteStaleClones();
+        }
+        ShutdownSequence.register(ShutdownSequence.Phase.DELETE_FILES, "profile-clone-cleanup",
+                () -> deleteRecursively(clonesDir()));
+    }
+
+    private ProfileTemplate() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Check whether drivers for a browser should start from a cloned warm profile.
+     *
+     * @param browserType browser type
+     * @return true if the template is enabled and the browser is Chromium based
+     */
+    public static boolean appliesTo(BrowserType browserType) {
+        return ConfigReader.isProfileTemplateEnabled() && browserType != BrowserType.FIREFOX;
+    }
+
+    /**
+     * Create a private clone of the warm template for a new driver, warming the template on first use.
+     *
+     * @param browserType browser type
+     * @return user-data-dir for the new driver
+     */
+    public static Path cloneFor(BrowserType browserType) {
+        return cloneOf(browserType, template(browserType));
+    }
+
+    /**
+     * Record the clone a driver was launched with, so it is deleted when the driver quits.
+     *
+     * @param webDriver driver using the clone
+     * @param clone     clone directory
+     */
+    static void attach(WebDriver webDriver, Path clone) {
+        clonesByDriver.put(webDriver, clone);
+    }
+
+    /**
+     * Delete the clone a driver was launched with. Call once the driver has quit.
+     *
+     * @param webDriver driver that has quit
+     */
+    static void release(WebDriver webDriver) {
+        Path clone = clonesByDriver.remove(webDriver);
+        if (clone != null) {
+            discard(clone);
+        }
+    }
+
+    /**
+     * Delete a clone that is no longer used by any browser.
+     *
+     * @param clone clone directory
+     */
+    static void discard(Path clone) {
+        deleteRecursively(clone);
+    }
+
+    private static Path template(BrowserType browserType) {
+        Path template = templates.get(browserType);
+        if (template != null) {
+            return template;
+        }
+        // Warming one browser's template must not hold up drivers for other browsers
+        synchronized (templateLocks.get(browserType)) {
+            template = templates.get(browserType);
+            if (template != null) {
+                return template;
+            }
+            template = Paths.get(ConfigReader.getProfileTemplateDir(), "template-" + browserType.configName());
+            try {
+                Files.createDirectories(template.getParent());
+                // Forks share the template directory; only one of them may warm it
+                try (FileChannel channel = FileChannel.open(template.resolveSibling(template.getFileName() + ".lock"),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    FileLock lock = channel.lock();
+                    try {
+                        if (!Files.exists(template.resolve(WARM_MARKER))) {
+                            warm(browserType, template);
+                        } else {
+                            logger.info("Reusing warm {} profile template {}", browserType.configName(), template);
+                        }
+                    } finally {
+                        lock.release();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to prepare profile template " + template, e);
+            }
+            templates.put(browserType, template);
+            return template;
+        }
+    }
+
+    /**
+     * Build the template: log in in a fresh profile and clear credentials, then compare first loads.
+     * Without configured test users the template is warmed anonymously on the login page.
+     *
+     * @param browserType browser type
+     * @param template    template directory
+     */
+    private static void warm(BrowserType browserType, Path template) {
+        logger.info("Warming {} profile template {}", browserType.configName(), template);
+        deleteRecursively(template);
+
+        if (!UserPool.hasUsers()) {
+            logger.info("No test users configured, template only holds login page resources");
+            populate(browserType, template, null);
+            markWarm(template);
+            return;
+        }
+        // Lease the user like a test would, so warming never shares a login with a running test
+        TestUser user = UserPool.shared().lease();
+        try {
+            boolean loggedIn = populate(browserType, template, user);
+            markWarm(template);
+            if (loggedIn && ConfigReader.isSessionCacheEnabled()) {
+                compareFirstLoads(browserType, template, user);
+            }
+        } finally {
+            UserPool.shared().release(user);
+        }
+    }
+
+    private static void markWarm(Path template) {
+        try {
+            Files.createFile(template.resolve(WARM_MARKER));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to warm profile template " + template, e);
+        }
+    }
+
+    /**
+     * Load the org in the template profile so its HTTP cache holds the login page and Lightning resources.
+     *
+     * @param browserType browser type
+     * @param template    template directory
+     * @param user        user to log in as, null to only load the login page
+     * @return true if the login reached Lightning
+     */
+    private static boolean populate(BrowserType browserType, Path template, TestUser user) {
+        WebDriver webDriver = DriverFactory.newDriver(browserType, template);
+        try {
+            webDriver.get(ConfigReader.getBaseUrl());
+            boolean loggedIn = false;
+            if (user != null) {
+                try {
+                    SessionManager.startAuthenticated(webDriver, user);
+                    loggedIn = true;
+                } catch (RuntimeException e) {
+                    logger.warn("Could not log in while warming profile, template only holds login page resources: {}",
+                            e.getMessage());
+                }
+                clearCredentials(webDriver);
+            }
+            return loggedIn;
+        } finally {
+            webDriver.quit();
+        }
+    }
+
+    /**
+     * Time the first Lightning home page load in an empty profile and in a clone of the template.
+     * Both probes restore the session cached while warming, so they differ only in what the HTTP cache holds.
+     *
+     * @param browserType browser type
+     * @param template    warm template directory
+     * @param user        user whose session was cached while warming
+     */
+    private static void compareFirstLoads(BrowserType browserType, Path template, TestUser user) {
+        Path cold = clonesDir().resolve(browserType.configName() + "-cold-" + cloneCounter.incrementAndGet());
+        Path warm = cloneOf(browserType, template);
+        try {
+            long coldLoad = timeFirstLightningLoad(browserType, cold, user);
+            MetricsUtil.recordNanos("profile.firstload.cold", coldLoad);
+            long warmLoad = timeFirstLightningLoad(browserType, warm, user);
+            MetricsUtil.recordNanos("profile.firstload.warm", warmLoad);
+            logger.info("{} first Lightning home load: cold profile {} ms, warm profile {} ms",
+                    browserType.configName(), TimeUnit.NANOSECONDS.toMillis(coldLoad),
+                    TimeUnit.NANOSECONDS.toMillis(warmLoad));
+        } finally {
+            discard(cold);
+            discard(warm);
+        }
+    }
+
+    private static long timeFirstLightningLoad(BrowserType browserType, Path profile, TestUser user) {
+        WebDriver webDriver = DriverFactory.newDriver(browserType, profile);
+        try {
+            long start = System.nanoTime();
+            SessionManager.startAuthenticated(webDriver, user);
+            return System.nanoTime() - start;
+        } finally {
+            webDriver.quit();
+        }
+    }
+
+    private static Path cloneOf(BrowserType browserType, Path template) {
+        Path clone = clonesDir().resolve(browserType.configName() + "-" + cloneCounter.incrementAndGet());
+        long start = System.nanoTime();
+        copyTree(template, clone);
+        MetricsUtil.recordNanos("profile.clone", System.nanoTime() - start);
+        return clone;
+    }
+
+    /**
+     * Remove cookies and web storage so clones never inherit a logged-in session, keeping the HTTP cache.
+     * Storage is cleared on every Salesforce origin the login may have touched, as between pooled leases.
+     *
+     * @param webDriver driver using the template profile
+     */
+    private static void clearCredentials(WebDriver webDriver) {
+        try {
+            if (webDriver instanceof HasCdp cdp) {
+                Set<String> origins = new LinkedHashSet<>(DriverPool.storageOrigins());
+                DriverPool.originOf(webDriver.getCurrentUrl()).ifPresent(origins::add);
+                DriverPool.clearBrowserData(cdp, origins);
+            } else {
+                webDriver.manage().deleteAllCookies();
+                ((JavascriptExecutor) webDriver).executeScript("try { window.localStorage.clear(); } catch (e) {}");
+            }
+        } catch (WebDriverException e) {
+            logger.warn("Failed to clear credentials from profile template: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Clone a directory tree, preferring a copy-on-write reflink.
+     *
+     * @param source source directory
+     * @param target target directory
+     */
+    private static void copyTree(Path source, Path target) {
+        try {
+            Files.createDirectories(target.getParent());
+            if (reflinkSupported != Boolean.FALSE && reflink(source, target)) {
+                reflinkSupported = true;
+                return;
+            }
+            if (reflinkSupported == null) {
+                logger.info("Filesystem does not support reflinks, cloning profiles by copy");
+                reflinkSupported = false;
+            }
+            deleteRecursively(target);
+            try (Stream<Path> paths = Files.walk(source)) {
+                for (Path path : (Iterable<Path>) paths::iterator) {
+                    Path destination = target.resolve(source.relativize(path).toString());
+                    if (Files.isDirectory(path)) {
+                        Files.createDirectories(destination);
+                    } else if (!isLockFile(path)) {
+                        Files.copy(path, destination, StandardCopyOption.COPY_ATTRIBUTES);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clone profile " + source + " to " + target, e);
+        }
+    }
+
+    private static boolean reflink(Path source, Path target) {
+        String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+        ProcessBuilder command;
+        if (os.contains("linux")) {
+            command = new ProcessBuilder("cp", "-R", "--reflink=always", source.toString(), target.toString());
+        } else if (os.contains("mac")) {
+            command = new ProcessBuilder("cp", "-c", "-R", source.toString(), target.toString());
+        } else {
+            return false;
+        }
+        try {
+            Process process = command.redirectErrorStream(true).start();
+            process.getInputStream().readAllBytes();
+            return process.waitFor() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isLockFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.equals("SingletonLock") || name.equals("SingletonSocket") || name.equals("SingletonCookie");
+    }
+
+    private static Path clonesDir() {
+        return Paths.get(ConfigReader.getProfileTemplateDir(), "clones", String.valueOf(ProcessHandle.current().pid()));
+    }
+
+    /**
+     * Delete clone directories left behind by JVMs that are no longer running.
+     */
+    private static void deleteStaleClones() {
+        Path root = clonesDir().getParent();
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> dirs = Files.list(root)) {
+            dirs.filter(dir -> {
+                try {
+                    return ProcessHandle.of(Long.parseLong(dir.getFileName().toString())).isEmpty();
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }).forEach(ProfileTemplate::deleteRecursively);
+        } catch (IOException e) {
+            logger.warn("Failed to clean up stale profile clones: {}", e.getMessage());
+        }
+    }
+
+    private static void deleteRecursively(Path root) {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.deleteIfExists(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                    Files.deleteIfExists(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Failed to delete {}: {}", root, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.starr.automation.driver;
+
+import com.starr.automation.config.ConfigReader;
+import com.starr.automation.utils.MetricsUtil;
+import com.starr.automation.utils.ShutdownSequence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sizes test parallelism from machine resources and throttles new driver leases when the machine is saturated.
+ * Browser memory is measured as the resident set size of this JVM's browser and driver child processes
+ * (Linux /proc), and the observed per-browser footprint replaces the configured estimate once available.
+ * Memory headroom is MemAvailable from /proc/meminfo on Linux, which counts reclaimable page cache that
+ * MemFree leaves out; other platforms use the free memory reported by the JVM.
+ */
+public class ResourceGovernor {
+    private static final Logger logger = LoggerFactory.getLogger(ResourceGovernor.class);
+    private static final long MB = 1024L * 1024L;
+    private static final Path MEMINFO = Paths.get("/proc/meminfo");
+    private static final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private static final AtomicLong browserRssBytes = new AtomicLong();
+    private static final AtomicLong peakBrowserRssBytes = new AtomicLong();
+    private static final AtomicLong browserCount = new AtomicLong();
+    private static ScheduledExecutorService sampler;
+
+    static {
+        ShutdownSequence.register(ShutdownSequence.Phase.REPORT, "resource-governor-report", () -> logger.info(
+                "Peak browser memory {} MB, observed {} MB per browser",
+                peakBrowserRssBytes.get() / MB, perBrowserBytes() / MB));
+    }
+
+    private ResourceGovernor() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Compute how many browser workers this machine can run right now.
+     * Limited by available processors and by available memory after the configured reserve, and by the driver
+     * pool size when pooling is enabled, since extra workers would only wait for a pooled driver.
+     *
+     * @return recommended number of parallel workers, at least 1
+     */
+    public static int recommendedParallelism() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        long freeBytes = availableMemoryBytes();
+        long usableBytes = freeBytes - ConfigReader.getParallelMemoryReserveMb() * MB;
+        int byMemory = (int) Math.max(1, usableBytes / perBrowserBytes());
+        int workers = Math.max(1, Math.min(Math.min(cpus, byMemory), ConfigReader.getParallelMaxWorkers()));
+        if (ConfigReader.isDriverPoolEnabled() && DriverPool.supports(BrowserType.current())) {
+            workers = Math.min(workers, Math.max(1, ConfigReader.getDriverPoolSize(BrowserType.current().configName())));
+        }
+        logger.info("Recommended parallelism {} (cpus {}, available memory {} MB, {} MB per browser)",
+                workers, cpus, freeBytes / MB, perBrowserBytes() / MB);
+        return workers;
+    }
+
+    /**
+     * Block until the machine has headroom for another active browser.
+     * Waits while available memory is below the reserve plus one browser, or system CPU load exceeds the limit.
+     * Gives up after parallel.throttle.timeout seconds so a busy machine slows tests down rather than failing them.
+     */
+    public static void awaitCapacity() {
+        startSampling();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(ConfigReader.getParallelThrottleTimeout());
+        long start = System.nanoTime();
+        boolean throttled = false;
+        while (isSaturated() && System.nanoTime() < deadline) {
+            if (!throttled) {
+                logger.info("Machine is saturated (available memory {} MB, cpu load {}%), delaying driver lease",
+                        availableMemoryBytes() / MB, Math.round(os.getCpuLoad() * 100));
+                throttled = true;
+            }
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (throttled) {
+            MetricsUtil.recordNanos("driver.lease.throttled", System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Get the latest measured resident memory of all browser and driver processes.
+     *
+     * @return resident set size in bytes
+     */
+    public static long getBrowserRssBytes() {
+        return browserRssBytes.get();
+    }
+
+    private static boolean isSaturated() {
+        long required = (ConfigReader.getParallelMemoryReserveMb() * MB) + perBrowserBytes();
+        double cpuLoad = os.getCpuLoad();
+        return availableMemoryBytes() < required || cpuLoad > ConfigReader.getParallelCpuLimit();
+    }
+
+    /**
+     * Get memory that can be given to new processes without swapping.
+     *
+     * @return MemAvailable on Linux, otherwise the JVM's free physical memory
+     */
+    private static long availableMemoryBytes() {
+        if (Files.isReadable(MEMINFO)) {
+            try {
+                for (String line : Files.readAllLines(MEMINFO)) {
+                    if (line.startsWith("MemAvailable:")) {
+                        return Long.parseLong(line.replaceAll("\\D+", "")) * 1024L;
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // Fall back to the JVM's view below
+            }
+        }
+        return os.getFreeMemorySize();
+    }
+
+    private static long perBrowserBytes() {
+        long browsers = browserCount.get();
+        if (browsers > 0 && browserRssBytes.get() > 0) {
+            return browserRssBytes.get() / browsers;
+        }
+        return ConfigReader.getParallelBrowserMemoryMb() * MB;
+    }
+
+    /**
+     * Start measuring browser memory in the background, if not already running.
+     * Called whenever a driver is launched, so the observed footprint is available whether or not leases are throttled.
+     */
+    static synchronized void startSampling() {
+        if (sampler != null) {
+            return;
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "browser-rss-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleWithFixedDelay(ResourceGovernor::sample, 0, 5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sum resident memory of descendant browser processes.
+     * One browser is counted per descendant that is a browser main process rather than a renderer/content child.
+     */
+    private static void sample() {
+        long total = 0;
+        long browsers = 0;
+        for (ProcessHandle process : ProcessHandle.current().descendants().toList()) {
+            total += residentBytes(process.pid());
+            List<String> arguments = process.info().arguments().map(List::of).orElse(List.of());
+            String command = process.info().command().orElse("");
+            if (isBrowser(command) && arguments.stream().noneMatch(arg -> arg.startsWith("--type=") || arg.equals("-contentproc"))) {
+                browsers++;
+            }
+        }
+        browserRssBytes.set(total);
+        browserCount.set(browsers);
+        peakBrowserRssBytes.accumulateAndGet(total, Math::max);
+    }
+
+    private static boolean isBrowser(String command) {
+        String name = Paths.get(command.isEmpty() ? "unknown" : command).getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.contains("chrome") && !name.contains("driver")
+                || name.contains("msedge") && !name.contains("driver")
+                || name.startsWith("firefox");
+    }
+
+    private static long residentBytes(long pid) {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D+", "")) * 1024L;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Process exited or /proc is not available on this platform
+        }
+        return 0;
+    }
+}
@@ -1,8 +1,15 @@
 package com.starr.automation.pages;
 
 import com.starr.automation.config.ConfigReader;
+import com.starr.automation.config.ConfigSnapshot;
+import com.starr.automation.utils.MetricsUtil;
+import com.starr.automation.utils.WaitUtil;
 import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -11,6 +18,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Base page class containing common page functionality.
@@ -20,6 +35,9 @@ public abstract class BasePage {
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
     protected WebDriver driver;
     protected WebDriverWait wait;
+    private final ConfigSnapshot.Waits waits = ConfigReader.snapshot().waits();
+    private final Deque<By> frameStack = new ArrayDeque<>();
+    private final Map<By, WebElement> resolvedFrames = new HashMap<>();
 
     /**
      * Constructor to initialize page.
@@ -28,10 +46,42 @@ public abstract class BasePage {
      */
     protected BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getExplicitWait()));
+        this.wait = new WebDriverWait(driver, waits.explicitWait());
         PageFactory.initElements(driver, this);
     }
 
+    /**
+     * Check whether actions on this page wait for Lightning to become idle.
+     * Enabled with wait.lightning.idle.enabled; pages outside Lightning can override this to opt out.
+     *
+     * @return true if actions wait for Lightning idle
+     */
+    protected boolean waitsForLightningIdle() {
+        return waits.lightningIdleEnabled();
+    }
+
+    /**
+     * Wait until pending Aura actions, network requests and spinners have settled.
+     * A page that never settles is logged and the action continues, so busy pages slow tests down rather than
+     * failing them.
+     */
+    protected void waitForLightningIdle() {
+        try {
+            WaitUtil.waitForLightningIdle(driver, waits.explicitWait());
+        } catch (TimeoutException e) {
+            logger.warn("Page did not become idle: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Wait for Lightning idle if this page opted in.
+     */
+    private void settle() {
+        if (waitsForLightningIdle()) {
+            waitForLightningIdle();
+        }
+    }
+
     /**
      * Wait for element to be visible.
      *
@@ -39,9 +89,20 @@ public abstract class BasePage {
      * @return visible WebElement
      */
     protected WebElement waitForVisibility(By locator) {
+        settle();
         return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
+    /**
+     * Wait for element to be present in the DOM.
+     *
+     * @param locator element locator
+     * @return present WebElement
+     */
+    protected WebElement waitForPresence(By locator) {
+        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+    }
+
     /**
      * Wait for element to be clickable.
      *
@@ -49,6 +110,7 @@ public abstract class BasePage {
      * @return clickable WebElement
      */
     protected WebElement waitForClickable(By locator) {
+        settle();
         return wait.until(ExpectedConditions.elementToBeClickable(locator));
     }
 
@@ -61,6 +123,27 @@ public abstract class BasePage {
         wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
     }
 
+    /**
+     * Wait until an element is present, woken by DOM mutations rather than polling.
+     *
+     * @param label   name used for wait metrics
+     * @param locator element locator
+     */
+    protected void awaitPresence(String label, By locator) {
+        WaitUtil.waitForPresence(driver, label, locator, waits.explicitWait());
+    }
+
+    /**
+     * Wait up to the explicit wait until a page condition holds, woken by DOM mutations and navigation events.
+     *
+     * @param label     name used for wait metrics
+     * @param condition page condition
+     * @return name of the matched branch
+     */
+    protected String awaitCondition(String label, PageCondition condition) {
+        return waitFor(label, condition, waits.explicitWait());
+    }
+
     /**
      * Click element with wait.
      *
@@ -68,6 +151,7 @@ public abstract class BasePage {
      */
     protected void click(By locator) {
         waitForClickable(locator).click();
+        settle();
     }
 
     /**
@@ -93,19 +177,233 @@ public abstract class BasePage {
     }
 
     /**
-     * Check if element is displayed.
+     * Check if element is displayed right now, without waiting.
      *
      * @param locator element locator
      * @return true if element is displayed
      */
     protected boolean isDisplayed(By locator) {
+        return withoutImplicitWait(() -> probeDisplayed(locator));
+    }
+
+    /**
+     * Check if element becomes displayed within a time budget.
+     *
+     * @param locator element locator
+     * @param budget  maximum time to wait
+     * @return true if element is displayed within the budget
+     */
+    protected boolean isDisplayed(By locator, Duration budget) {
+        return isAnyDisplayed(budget, locator);
+    }
+
+    /**
+     * Check if any of several elements becomes displayed within a time budget.
+     * All locators are probed together, so a fallback locator never waits for the first one to time out.
+     *
+     * @param budget   maximum time to wait
+     * @param locators element locators
+     * @return true if any element is displayed within the budget
+     */
+    protected boolean isAnyDisplayed(Duration budget, By... locators) {
+        return withoutImplicitWait(() -> {
+            try {
+                return new WebDriverWait(driver, budget, Duration.ofMillis(100))
+                        .until(d -> Arrays.stream(locators).anyMatch(this::probeDisplayed));
+            } catch (TimeoutException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Evaluate a page condition once, in a single round trip.
+     *
+     * @param condition page condition
+     * @return name of the matched branch, empty if the condition does not hold
+     */
+    protected Optional<String> check(PageCondition condition) {
+        return Optional.ofNullable((String) WaitUtil.evaluate(driver, condition.toScript()));
+    }
+
+    /**
+     * Wait until a page condition holds, evaluating all of its branches in one script per check.
+     *
+     * @param label     name used for wait metrics
+     * @param condition page condition
+     * @param budget    maximum time to wait
+     * @return name of the matched branch
+     * @throws TimeoutException if the condition does not hold within the budget
+     */
+    protected String waitFor(String label, PageCondition condition, Duration budget) {
+        return (String) WaitUtil.waitForCondition(driver, label, condition.toScript(), budget);
+    }
+
+    /**
+     * Check if a page condition holds within a time budget.
+     *
+     * @param condition page condition
+     * @param budget    maximum time to wait
+     * @return true if the condition holds within the budget
+     */
+    protected boolean isSatisfied(PageCondition condition, Duration budget) {
         try {
-            return driver.findElement(locator).isDisplayed();
-        } catch (Exception e) {
+            WaitUtil.waitForCondition(driver, null, condition.toScript(), budget);
+            return true;
+        } catch (TimeoutException e) {
             return false;
         }
     }
 
+    /**
+     * Check if element is present in the DOM right now, without waiting.
+     *
+     * @param locator element locator
+     * @return true if element is present
+     */
+    protected boolean isPresent(By locator) {
+        return !findAll(locator).isEmpty();
+    }
+
+    /**
+     * Find all elements matching a locator without waiting.
+     *
+     * @param locator element locator
+     * @return matching elements, empty if none
+     */
+    protected List<WebElement> findAll(By locator) {
+        return findAll(driver, locator);
+    }
+
+    /**
+     * Find all elements matching a locator within a search context without waiting.
+     *
+     * @param context element or driver to search in
+     * @param locator element locator
+     * @return matching elements, empty if none
+     */
+    protected List<WebElement> findAll(SearchContext context, By locator) {
+        return withoutImplicitWait(() -> context.findElements(locator));
+    }
+
+    /**
+     * Get the time budget isLoaded() checks use to wait for key elements.
+     *
+     * @return probe budget
+     */
+    protected Duration loadProbeBudget() {
+        return waits.probeTimeout();
+    }
+
+    /**
+     * Run a probe with the implicit wait disabled so a missing element returns immediately.
+     * When the framework runs explicit-only the implicit wait is already 0 and no timeouts are changed.
+     *
+     * @param probe probe to run
+     * @param <T>   probe result type
+     * @return probe result
+     */
+    private <T> T withoutImplicitWait(Supplier<T> probe) {
+        Duration implicitWait = waits.effectiveImplicitWait();
+        if (implicitWait.isZero()) {
+            return probe.get();
+        }
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return probe.get();
+        } finally {
+            driver.manage().timeouts().implicitlyWait(implicitWait);
+        }
+    }
+
+    private boolean probeDisplayed(By locator) {
+        try {
+            List<WebElement> elements = driver.findElements(locator);
+            return !elements.isEmpty() && elements.get(0).isDisplayed();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Enter an iframe for a block of actions; close the returned scope to leave it.
+     * The frame is resolved by its locator (e.g. name or title) and the element is cached for later scopes.
+     * Opening a scope for the frame the driver is already in is a no-op, so page methods can each open a scope
+     * while callers wrap a sequence of them in one outer scope and pay for a single switch in and out.
+     * Scopes nest: closing an inner frame's scope returns to its parent frame. When the frame is not on the page
+     * (content loaded top-level) the scope does nothing.
+     *
+     * @param frameLocator frame locator
+     * @return frame scope to close when the block ends
+     */
+    protected FrameScope enterFrame(By frameLocator) {
+        if (frameLocator.equals(frameStack.peek())) {
+            return new FrameScope(false);
+        }
+        WebElement frame = resolvedFrames.get(frameLocator);
+        try {
+            if (frame == null) {
+                frame = resolveFrame(frameLocator);
+                if (frame == null) {
+                    return new FrameScope(false);
+                }
+            }
+            driver.switchTo().frame(frame);
+        } catch (StaleElementReferenceException e) {
+            // Frame was re-rendered since it was resolved
+            frame = resolveFrame(frameLocator);
+            if (frame == null) {
+                return new FrameScope(false);
+            }
+            driver.switchTo().frame(frame);
+        }
+        frameStack.push(frameLocator);
+        MetricsUtil.increment("frame.switch");
+        return new FrameScope(true);
+    }
+
+    private WebElement resolveFrame(By frameLocator) {
+        List<WebElement> frames = findAll(frameLocator);
+        if (frames.isEmpty()) {
+            resolvedFrames.remove(frameLocator);
+            return null;
+        }
+        resolvedFrames.put(frameLocator, frames.get(0));
+        return frames.get(0);
+    }
+
+    /**
+     * Frame context opened by {@link #enterFrame(By)}.
+     */
+    public final class FrameScope implements AutoCloseable {
+        private final boolean entered;
+        private boolean closed;
+
+        private FrameScope(boolean entered) {
+            this.entered = entered;
+        }
+
+        /**
+         * Leave the frame entered by this scope, returning to the parent frame or the top-level document.
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (!entered) {
+                return;
+            }
+            frameStack.pop();
+            if (frameStack.isEmpty()) {
+                driver.switchTo().defaultContent();
+            } else {
+                driver.switchTo().parentFrame();
+            }
+        }
+    }
+
     /**
      * Get current page URL.
      *
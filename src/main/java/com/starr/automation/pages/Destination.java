@@ -0,0 +1,92 @@
+package com.starr.automation.pages;
+
+import org.openqa.selenium.By;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lightning and Setup destinations reachable by URL, used by {@link Navigator} to deep-link instead of clicking
+ * through menus. Templates are paths relative to the org base URL; {name} placeholders are filled from the
+ * navigation parameters. Each destination knows the condition that marks it ready and, for Setup pages that
+ * Lightning hosts in an iframe, the frame holding the classic content.
+ */
+public enum Destination {
+    LOGIN("", LoginPage.LOADED),
+    HOME("/lightning/page/home", HomePage.LOADED),
+    SETUP_HOME("/lightning/setup/SetupOneHome/home", SetupPage.LOADED),
+    SETUP_USERS("/lightning/setup/ManageUsers/home", UsersPage.LOADED, UsersPage.FRAME),
+    SETUP_PAGE("/lightning/setup/{page}/home", SetupPage.LOADED),
+    OBJECT_HOME("/lightning/o/{object}/home", HomePage.LIST_VIEW_LOADED),
+    OBJECT_LIST("/lightning/o/{object}/list?filterName={filter}", HomePage.LIST_VIEW_LOADED),
+    RECORD("/lightning/r/{object}/{id}/view", HomePage.RECORD_LOADED);
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\w+)}");
+
+    private final String template;
+    private final PageCondition ready;
+    private final By frame;
+
+    Destination(String template, PageCondition ready) {
+        this(template, ready, null);
+    }
+
+    Destination(String template, PageCondition ready, By frame) {
+        this.template = template;
+        this.ready = ready;
+        this.frame = frame;
+    }
+
+    /**
+     * Expand the URL template with navigation parameters.
+     *
+     * @param params values for the template placeholders
+     * @return path relative to the org base URL
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public String path(Map<String, String> params) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder path = new StringBuilder();
+        while (matcher.find()) {
+            String value = params.get(matcher.group(1));
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException("Destination " + this + " requires parameter " + matcher.group(1));
+            }
+            String encoded = URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+            matcher.appendReplacement(path, Matcher.quoteReplacement(encoded));
+        }
+        matcher.appendTail(path);
+        return path.toString();
+    }
+
+    /**
+     * Get the condition that holds once the destination is ready to use.
+     *
+     * @return readiness condition
+     */
+    public PageCondition ready() {
+        return ready;
+    }
+
+    /**
+     * Get the frame that hosts classic content on this destination.
+     *
+     * @return frame locator, or null if the destination is not framed
+     */
+    public By frame() {
+        return frame;
+    }
+
+    /**
+     * Get the name used for this destination in logs and metrics.
+     *
+     * @return lower-case destination name
+     */
+    public String configName() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '.');
+    }
+}
@@ -4,6 +4,12 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import java.util.List;
+import java.util.Map;
+
+import static com.starr.automation.pages.PageCondition.allOf;
+import static com.starr.automation.pages.PageCondition.anyOf;
+import static com.starr.automation.pages.PageCondition.present;
+import static com.starr.automation.pages.PageCondition.visible;
 
 /**
  * Page Object Model for Salesforce Home Page.
@@ -17,7 +23,6 @@ public class HomePage extends BasePage {
     private static final By GLOBAL_SEARCH = By.cssSelector("input[placeholder*='Search']");
     private static final By USER_AVATAR = By.cssSelector(".profile-card-avatar");
     private static final By HELP_MENU = By.cssSelector("button[title='Help']");
-    private static final By SETUP_LINK = By.cssSelector("a[title='Setup']");
 
     // Navigation bar
     private static final By NAV_BAR = By.cssSelector("nav[role='navigation']");
@@ -28,6 +33,14 @@ public class HomePage extends BasePage {
     private static final By NEW_BUTTON = By.cssSelector("a[title='New']");
     private static final By LIST_VIEW_SELECTOR = By.cssSelector("button[title*='List View']");
 
+    // Object list views: header, data rows, or the empty state of a list without records
+    private static final By LIST_VIEW_HEADER = By.cssSelector(".forceListViewManagerHeader");
+    private static final By LIST_VIEW_ROWS = By.cssSelector(".forceListViewManager table[role='grid'] tbody tr");
+    private static final By LIST_VIEW_EMPTY = By.cssSelector(".forceListViewManager .emptyContent");
+
+    // Record pages: highlights panel (LWC and Aura variants)
+    private static final By RECORD_HIGHLIGHTS = By.cssSelector("records-highlights2, .forceHighlightsPanel");
+
     // Recent items
     private static final By RECENT_ITEMS_LIST = By.cssSelector(".forceRecordLayout");
 
@@ -35,6 +48,16 @@ public class HomePage extends BasePage {
     private static final By NOTIFICATION_BELL = By.cssSelector("button[title='Notifications']");
     private static final By NOTIFICATION_BADGE = By.cssSelector(".notification-badge");
 
+    /** Holds once the Lightning shell is rendered. */
+    public static final PageCondition LOADED = anyOf(visible(APP_LAUNCHER), visible(NAV_BAR)).as("home");
+
+    /** Holds once an object home or list view has rendered its rows or its empty state. */
+    public static final PageCondition LIST_VIEW_LOADED = allOf(visible(LIST_VIEW_HEADER),
+            anyOf(present(LIST_VIEW_ROWS), present(LIST_VIEW_EMPTY))).as("list.view");
+
+    /** Holds once a record page has rendered its highlights panel. */
+    public static final PageCondition RECORD_LOADED = visible(RECORD_HIGHLIGHTS).as("record");
+
     /**
      * Constructor.
      *
@@ -44,6 +67,17 @@ public class HomePage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Open the Lightning home page directly and wait until it is ready.
+     *
+     * @param driver WebDriver instance
+     * @return home page
+     */
+    public static HomePage open(WebDriver driver) {
+        Navigator.navigate(driver, Destination.HOME);
+        return new HomePage(driver);
+    }
+
     /**
      * Navigate to home page.
      *
@@ -51,7 +85,10 @@ public class HomePage extends BasePage {
      */
     public void navigateTo(String url) {
         logger.info("Navigating to: {}", url);
-        driver.get(url);
+        NavigationPlanner.load(driver, url);
+        if (waitsForLightningIdle()) {
+            waitForLightningIdle();
+        }
     }
 
     /**
@@ -62,7 +99,7 @@ public class HomePage extends BasePage {
     public boolean isLoaded() {
         logger.info("Verifying home page is loaded");
         try {
-            return isDisplayed(APP_LAUNCHER) || isDisplayed(NAV_BAR);
+            return isSatisfied(LOADED, loadProbeBudget());
         } catch (Exception e) {
             logger.error("Error verifying home page loaded", e);
             return false;
@@ -85,7 +122,7 @@ public class HomePage extends BasePage {
     public void globalSearch(String searchTerm) {
         logger.info("Performing global search for: {}", searchTerm);
         type(GLOBAL_SEARCH, searchTerm);
-        driver.findElement(GLOBAL_SEARCH).submit();
+        waitForVisibility(GLOBAL_SEARCH).submit();
     }
 
     /**
@@ -101,8 +138,28 @@ public class HomePage extends BasePage {
      */
     public void navigateToSetup() {
         logger.info("Navigating to Setup");
-        clickUserAvatar();
-        click(SETUP_LINK);
+        Navigator.navigate(driver, Destination.SETUP_HOME);
+    }
+
+    /**
+     * Open an object's home page directly instead of through the navigation bar.
+     *
+     * @param objectApiName object API name (e.g. "Account")
+     */
+    public void navigateToObject(String objectApiName) {
+        logger.info("Navigating to object home: {}", objectApiName);
+        Navigator.navigate(driver, Destination.OBJECT_HOME, Map.of("object", objectApiName));
+    }
+
+    /**
+     * Open a record page directly.
+     *
+     * @param objectApiName object API name (e.g. "Account")
+     * @param recordId      record id
+     */
+    public void navigateToRecord(String objectApiName, String recordId) {
+        logger.info("Navigating to {} record {}", objectApiName, recordId);
+        Navigator.navigate(driver, Destination.RECORD, Map.of("object", objectApiName, "id", recordId));
     }
 
     /**
@@ -170,7 +227,8 @@ public class HomePage extends BasePage {
      */
     public List<String> getNavigationItems() {
         logger.info("Getting all navigation items");
-        List<WebElement> items = driver.findElements(NAV_ITEMS);
+        waitForPresence(NAV_ITEMS);
+        List<WebElement> items = findAll(NAV_ITEMS);
         return items.stream()
                 .map(WebElement::getText)
                 .filter(text -> !text.isEmpty())
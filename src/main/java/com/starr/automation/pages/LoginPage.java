@@ -1,8 +1,15 @@
 package com.starr.automation.pages;
 
+import com.starr.automation.config.ConfigReader;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.time.Duration;
+
+import static com.starr.automation.pages.PageCondition.allOf;
+import static com.starr.automation.pages.PageCondition.anyOf;
+import static com.starr.automation.pages.PageCondition.visible;
+
 /**
  * Page Object Model for Salesforce Login Page.
  * Locators extracted using Playwright MCP analysis.
@@ -18,6 +25,25 @@ public class LoginPage extends BasePage {
     private static final By ERROR_MESSAGE = By.id("error");
     private static final By SALESFORCE_LOGO = By.cssSelector(".slds-icon-logo");
 
+    /** Holds once the login form is rendered. */
+    public static final PageCondition LOADED = allOf(visible(USERNAME_INPUT), visible(PASSWORD_INPUT),
+            visible(LOGIN_BUTTON)).as("login");
+
+    // Where a submitted login can land, in priority order; branch names match Outcome constants
+    private static final PageCondition OUTCOME = anyOf(
+            visible(ERROR_MESSAGE).as(Outcome.ERROR.name()),
+            VerificationPage.LOADED.as(Outcome.VERIFICATION.name()),
+            HomePage.LOADED.as(Outcome.HOME.name()));
+
+    /**
+     * Page a submitted login ended up on.
+     */
+    public enum Outcome {
+        ERROR,
+        VERIFICATION,
+        HOME
+    }
+
     /**
      * Constructor.
      *
@@ -34,7 +60,17 @@ public class LoginPage extends BasePage {
      */
     public void navigateTo(String url) {
         logger.info("Navigating to login page: {}", url);
-        driver.get(url);
+        NavigationPlanner.load(driver, url);
+    }
+
+    /**
+     * Login page is a classic page outside Lightning, so actions never wait for Lightning idle.
+     *
+     * @return false
+     */
+    @Override
+    protected boolean waitsForLightningIdle() {
+        return false;
     }
 
     /**
@@ -44,7 +80,7 @@ public class LoginPage extends BasePage {
      */
     public boolean isLoaded() {
         logger.info("Verifying login page is loaded");
-        return isDisplayed(USERNAME_INPUT) && isDisplayed(PASSWORD_INPUT) && isDisplayed(LOGIN_BUTTON);
+        return isSatisfied(LOADED, loadProbeBudget());
     }
 
     /**
@@ -79,6 +115,21 @@ public class LoginPage extends BasePage {
         click(LOGIN_BUTTON);
     }
 
+    /**
+     * Wait until a submitted login shows an error, the verification page or the home page.
+     * All three are checked in one script per check, so routing is decided in a single wait.
+     *
+     * @return where the login landed
+     * @throws org.openqa.selenium.TimeoutException if none of them appears within the explicit wait
+     */
+    public Outcome waitForLoginOutcome() {
+        logger.info("Waiting for login outcome");
+        String branch = waitFor("login.outcome", OUTCOME, Duration.ofSeconds(ConfigReader.getExplicitWait()));
+        Outcome outcome = Outcome.valueOf(branch);
+        logger.info("Login landed on {}", outcome);
+        return outcome;
+    }
+
     /**
      * Perform complete login action.
      *
@@ -101,7 +152,7 @@ public class LoginPage extends BasePage {
     public LoginPage setRememberMe(boolean check) {
         logger.info("Setting remember me to: {}", check);
         if (isDisplayed(REMEMBER_ME_CHECKBOX)) {
-            boolean isChecked = driver.findElement(REMEMBER_ME_CHECKBOX).isSelected();
+            boolean isChecked = waitForVisibility(REMEMBER_ME_CHECKBOX).isSelected();
             if (isChecked != check) {
                 click(REMEMBER_ME_CHECKBOX);
             }
@@ -0,0 +1,211 @@
+package com.starr.automation.pages;
+
+import com.starr.automation.config.ConfigReader;
+import com.starr.automation.utils.MetricsUtil;
+import com.starr.automation.utils.ShutdownSequence;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * Decides how to get a driver to a URL with the least work.
+ * A navigation is skipped when the driver is already on the URL, or on the page an earlier load of the same URL
+ * redirected to. Callers that wait for the target page themselves can use {@link #route(WebDriver, String)}, which
+ * also downgrades the load to an in-app Lightning route change when both the current page and the target are
+ * Lightning pages of the same org; otherwise the page is loaded. Skipped, soft and full loads are counted
+ * as navigation.skipped, navigation.soft and navigation.loads and summarized at JVM exit.
+ */
+public class NavigationPlanner {
+    private static final Logger logger = LoggerFactory.getLogger(NavigationPlanner.class);
+    private static final String SOFT_NAVIGATION_SCRIPT =
+            "var e = window.$A && $A.get && $A.get('e.force:navigateToURL');"
+                    + "if (!e) { return false; } e.setParams({ url: arguments[0] }); e.fire(); return true;";
+    // Requested URL and the URL the driver landed on, per driver; weak so quit drivers are dropped
+    private static final Map<WebDriver, String[]> landings = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final List<String> ORG_HOST_SUFFIXES = List.of(".my.salesforce.com", ".lightning.force.com");
+
+    static {
+        ShutdownSequence.register(ShutdownSequence.Phase.REPORT, "navigation-report", NavigationPlanner::report);
+    }
+
+    /**
+     * How a navigation was carried out.
+     */
+    public enum Result {
+        /** The driver was already there. */
+        SKIPPED,
+        /** Lightning routed to the page without reloading the app. */
+        SOFT,
+        /** The page was loaded. */
+        LOADED
+    }
+
+    private NavigationPlanner() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Get the driver to a URL, skipping the page load when the driver is already there.
+     * Returns once the page has loaded, so callers can act on it straight away.
+     *
+     * @param driver WebDriver instance
+     * @param url    absolute URL
+     * @return {@link Result#SKIPPED} or {@link Result#LOADED}
+     */
+    public static Result load(WebDriver driver, String url) {
+        return navigate(driver, url, false);
+    }
+
+    /**
+     * Get the driver to a URL, skipping the page load or downgrading it to a Lightning route change when possible.
+     * A soft navigation returns before Lightning has finished routing, so callers must wait for the URL and the
+     * target page before acting on it.
+     *
+     * @param driver WebDriver instance
+     * @param url    absolute URL
+     * @return how the navigation was carried out
+     */
+    public static Result route(WebDriver driver, String url) {
+        return navigate(driver, url, ConfigReader.isSoftNavigationEnabled());
+    }
+
+    private static Result navigate(WebDriver driver, String url, boolean allowSoft) {
+        String current = currentUrl(driver);
+        if (ConfigReader.isNavigationSkipEnabled() && isAt(driver, current, url)) {
+            logger.debug("Already at {}, skipping page load", url);
+            MetricsUtil.increment("navigation.skipped");
+            return Result.SKIPPED;
+        }
+        if (allowSoft && canRouteInApp(current, url) && routeInApp(driver, url)) {
+            logger.debug("Routing to {} inside Lightning", url);
+            MetricsUtil.increment("navigation.soft");
+            landings.remove(driver);
+            return Result.SOFT;
+        }
+        driver.get(url);
+        MetricsUtil.increment("navigation.loads");
+        landings.put(driver, new String[]{normalize(url), normalize(currentUrl(driver))});
+        return Result.LOADED;
+    }
+
+    private static boolean isAt(WebDriver driver, String current, String url) {
+        if (current == null) {
+            return false;
+        }
+        String target = normalize(url);
+        String here = normalize(current);
+        if (here.equals(target)) {
+            return true;
+        }
+        // The same Lightning page can be addressed through the my.salesforce.com or lightning.force.com host
+        URI hereUri = parse(here);
+        URI targetUri = parse(target);
+        if (hereUri != null && targetUri != null && canRouteInApp(here, target)
+                && hereUri.getRawPath().equals(targetUri.getRawPath())
+                && Objects.equals(hereUri.getRawQuery(), targetUri.getRawQuery())
+                && Objects.equals(hereUri.getRawFragment(), targetUri.getRawFragment())) {
+            return true;
+        }
+        String[] landing = landings.get(driver);
+        return landing != null && landing[0].equals(target) && landing[1].equals(here);
+    }
+
+    /**
+     * Check whether Lightning can route from one page to another without reloading the app.
+     * Both must be Lightning pages of the same org; an org's my.salesforce.com and lightning.force.com hosts
+     * count as the same app, since deep links are built from base.url and Lightning is served from the latter.
+     *
+     * @param current URL the driver is on
+     * @param url     target URL
+     * @return true if an in-app route change can reach the target
+     */
+    static boolean canRouteInApp(String current, String url) {
+        URI from = parse(current);
+        URI to = parse(url);
+        if (from == null || to == null || from.getHost() == null || to.getHost() == null
+                || !isLightningPath(from.getPath()) || !isLightningPath(to.getPath())) {
+            return false;
+        }
+        return orgOf(from.getHost()).equalsIgnoreCase(orgOf(to.getHost()));
+    }
+
+    /**
+     * Reduce a Salesforce host to its My Domain name, so the org's my.salesforce.com and lightning.force.com
+     * hosts compare equal. Other hosts are returned unchanged.
+     *
+     * @param host host name
+     * @return My Domain name, including any sandbox or edition label, or the host
+     */
+    static String orgOf(String host) {
+        String lower = host.toLowerCase(Locale.ROOT);
+        for (String suffix : ORG_HOST_SUFFIXES) {
+            if (lower.endsWith(suffix) && lower.length() > suffix.length()) {
+                return lower.substring(0, lower.length() - suffix.length());
+            }
+        }
+        return lower;
+    }
+
+    private static URI parse(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            return URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isLightningPath(String path) {
+        return path != null && path.startsWith("/lightning/");
+    }
+
+    private static boolean routeInApp(WebDriver driver, String url) {
+        // Lightning treats absolute URLs as external and may open them in a new tab, so route by relative URL
+        URI target = URI.create(url);
+        String relative = target.getRawPath()
+                + (target.getRawQuery() == null ? "" : "?" + target.getRawQuery())
+                + (target.getRawFragment() == null ? "" : "#" + target.getRawFragment());
+        try {
+            return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(SOFT_NAVIGATION_SCRIPT, relative));
+        } catch (WebDriverException e) {
+            logger.debug("In-app navigation failed, loading page: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static String currentUrl(WebDriver driver) {
+        try {
+            return driver.getCurrentUrl();
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+    private static String normalize(String url) {
+        return url == null ? "" : url.replaceAll("/+$", "");
+    }
+
+    /**
+     * Log how many page loads were skipped or downgraded over the run.
+     */
+    private static void report() {
+        long skipped = MetricsUtil.getCount("navigation.skipped");
+        long soft = MetricsUtil.getCount("navigation.soft");
+        if (skipped + soft > 0) {
+            logger.info("Navigation: {} page loads, {} skipped, {} routed inside Lightning",
+                    MetricsUtil.getCount("navigation.loads"), skipped, soft);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.starr.automation.pages;
+
+import com.starr.automation.config.ConfigReader;
+import com.starr.automation.driver.BrowserProfileReport;
+import com.starr.automation.utils.MetricsUtil;
+import com.starr.automation.utils.WaitUtil;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Deep-link navigation to {@link Destination}s.
+ * Loads the destination URL directly and waits for its readiness condition, replacing multi-click paths
+ * through the avatar menu, Quick Find or the nav bar. In classic Setup navigation mode, framed Setup
+ * destinations are loaded top-level from the classic URL behind their Lightning frame.
+ */
+public class Navigator {
+    private static final Logger logger = LoggerFactory.getLogger(Navigator.class);
+
+    // Classic URLs behind Lightning Setup frames, keyed by Lightning URL, with session-bound parameters removed
+    private static final Map<String, String> classicUrls = new ConcurrentHashMap<>();
+    // Frame source parameters tied to the session or Lightning window that resolved the URL
+    private static final Set<String> SESSION_PARAMS = Set.of(
+            "nonce", "sid", "_CONFIRMATIONTOKEN", "clc", "sfdcIFrameOrigin", "sfdcIFrameHost");
+
+    private Navigator() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Navigate to a destination that takes no parameters and wait until it is ready.
+     *
+     * @param driver      WebDriver instance
+     * @param destination destination
+     */
+    public static void navigate(WebDriver driver, Destination destination) {
+        navigate(driver, destination, Map.of());
+    }
+
+    /**
+     * Navigate directly to a destination and wait until it is ready.
+     * The page load is planned by {@link NavigationPlanner}, so a destination the driver is already on is not reloaded.
+     *
+     * @param driver      WebDriver instance
+     * @param destination destination
+     * @param params      values for the destination's URL template
+     * @throws org.openqa.selenium.TimeoutException if the destination is not ready within the explicit wait
+     */
+    public static void navigate(WebDriver driver, Destination destination, Map<String, String> params) {
+        String url = url(driver, destination, params);
+        logger.info("Navigating to {}: {}", destination.configName(), url);
+        long start = System.nanoTime();
+        Duration timeout = Duration.ofSeconds(ConfigReader.getExplicitWait());
+        NavigationPlanner.Result result = NavigationPlanner.route(driver, url);
+        if (result == NavigationPlanner.Result.SOFT) {
+            // The previous Lightning page may satisfy the readiness condition until routing completes
+            WaitUtil.waitForUrlContaining(driver, "navigate.route", timeout, URI.create(url).getPath());
+        }
+        WaitUtil.waitForCondition(driver, "navigate." + destination.configName(), destination.ready().toScript(),
+                timeout);
+        MetricsUtil.recordNanos("navigate." + destination.configName(), System.nanoTime() - start);
+        if (result == NavigationPlanner.Result.LOADED && destination != Destination.LOGIN) {
+            BrowserProfileReport.recordPageLoad(driver, "lightning");
+        }
+    }
+
+    /**
+     * Get the URL a destination is loaded from in the current Setup navigation mode.
+     * For a framed destination in classic mode, the Lightning page is opened once to read its frame source,
+     * which is cached without its session-bound query parameters.
+     *
+     * @param driver      WebDriver instance, used to resolve classic URLs
+     * @param destination destination
+     * @param params      values for the destination's URL template
+     * @return absolute URL
+     */
+    public static String url(WebDriver driver, Destination destination, Map<String, String> params) {
+        String lightningUrl = ConfigReader.getBaseUrl().replaceAll("/+$", "") + destination.path(params);
+        if (destination.frame() == null || SetupNavigationMode.current() != SetupNavigationMode.CLASSIC) {
+            return lightningUrl;
+        }
+        String classicUrl = classicUrls.get(lightningUrl);
+        if (classicUrl == null) {
+            // Resolved outside the map: resolving loads a page, and concurrent callers may both resolve
+            String resolved = resolveClassicUrl(driver, destination, lightningUrl);
+            classicUrl = classicUrls.putIfAbsent(lightningUrl, resolved);
+            if (classicUrl == null) {
+                classicUrl = resolved;
+            }
+        }
+        return classicUrl;
+    }
+
+    private static String resolveClassicUrl(WebDriver driver, Destination destination, String lightningUrl) {
+        long start = System.nanoTime();
+        driver.get(lightningUrl);
+        // Lightning assigns the frame source after the shell renders; the src property is already absolute
+        String classicUrl = (String) WaitUtil.waitForCondition(driver, "setup.frame",
+                "var f = " + WaitUtil.elementOf(destination.frame()) + ";"
+                        + " return f && f.src && f.src.indexOf('about:') !== 0 ? f.src : null;",
+                Duration.ofSeconds(ConfigReader.getExplicitWait()));
+        MetricsUtil.recordNanos("setup.classic.resolve", System.nanoTime() - start);
+        classicUrl = withoutSessionParams(classicUrl);
+        logger.info("Resolved classic URL for {}: {}", destination.configName(), classicUrl);
+        return classicUrl;
+    }
+
+    /**
+     * Remove query parameters that only hold for the session that resolved a frame source,
+     * so the cached URL can be loaded by any session or user.
+     *
+     * @param url frame source URL
+     * @return URL without session-bound parameters
+     */
+    static String withoutSessionParams(String url) {
+        URI uri = URI.create(url);
+        if (uri.getRawQuery() == null) {
+            return url;
+        }
+        String query = Arrays.stream(uri.getRawQuery().split("&"))
+                .filter(param -> !SESSION_PARAMS.contains(param.split("=", 2)[0]))
+                .collect(Collectors.joining("&"));
+        String base = url.substring(0, url.indexOf('?'));
+        String fragment = uri.getRawFragment() == null ? "" : "#" + uri.getRawFragment();
+        return query.isEmpty() ? base + fragment : base + "?" + query + fragment;
+    }
+}
@@ -0,0 +1,163 @@
+package com.starr.automation.pages;
+
+import com.starr.automation.utils.WaitUtil;
+import org.openqa.selenium.By;
+import org.openqa.selenium.json.Json;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Composable page condition compiled to a single JavaScript expression.
+ * A condition evaluates in the page to the name of the branch that matched, or null, so a whole
+ * combination of locator, URL and text checks costs one WebDriver round trip per poll.
+ * Conditions are immutable; name branches with {@link #as(String)} to tell them apart.
+ */
+public final class PageCondition {
+    private static final Json JSON = new Json();
+
+    private final String name;
+    private final String expression;
+
+    private PageCondition(String name, String expression) {
+        this.name = name;
+        this.expression = expression;
+    }
+
+    /**
+     * Condition that holds when an element is visible.
+     *
+     * @param locator element locator
+     * @return page condition
+     */
+    public static PageCondition visible(By locator) {
+        return leaf("visible " + locator, WaitUtil.visibilityOf(locator));
+    }
+
+    /**
+     * Condition that holds when an element is present in the DOM.
+     *
+     * @param locator element locator
+     * @return page condition
+     */
+    public static PageCondition present(By locator) {
+        return leaf("present " + locator, WaitUtil.presenceOf(locator));
+    }
+
+    /**
+     * Condition that holds when an element's text contains a value.
+     *
+     * @param locator element locator
+     * @param text    text to look for
+     * @return page condition
+     */
+    public static PageCondition textContains(By locator, String text) {
+        return leaf("text " + locator + " contains " + text,
+                "(function (el) { return !!el && (el.innerText || el.textContent || '').indexOf("
+                        + JSON.toJson(text) + ") >= 0; })(" + WaitUtil.elementOf(locator) + ")");
+    }
+
+    /**
+     * Condition that holds when the page URL contains a fragment.
+     *
+     * @param fragment URL fragment
+     * @return page condition
+     */
+    public static PageCondition urlContains(String fragment) {
+        return leaf("url contains " + fragment, "location.href.indexOf(" + JSON.toJson(fragment) + ") >= 0");
+    }
+
+    /**
+     * Condition that holds when the page URL equals a value.
+     *
+     * @param url URL to compare with
+     * @return page condition
+     */
+    public static PageCondition urlEquals(String url) {
+        return leaf("url is " + url, "location.href === " + JSON.toJson(url));
+    }
+
+    /**
+     * Condition that holds when any branch holds; evaluates to the first matching branch.
+     *
+     * @param conditions branches in priority order
+     * @return page condition
+     * @throws IllegalArgumentException if no branches are given
+     */
+    public static PageCondition anyOf(PageCondition... conditions) {
+        requireBranches("anyOf", conditions);
+        String name = Arrays.stream(conditions).map(condition -> condition.name).collect(Collectors.joining(" | "));
+        String expression = Arrays.stream(conditions).map(condition -> condition.expression)
+                .collect(Collectors.joining(" || ", "(", " || null)"));
+        return new PageCondition(name, expression);
+    }
+
+    /**
+     * Condition that holds when all branches hold.
+     *
+     * @param conditions branches
+     * @return page condition
+     * @throws IllegalArgumentException if no branches are given
+     */
+    public static PageCondition allOf(PageCondition... conditions) {
+        requireBranches("allOf", conditions);
+        String name = Arrays.stream(conditions).map(condition -> condition.name).collect(Collectors.joining(" & "));
+        String test = Arrays.stream(conditions).map(condition -> condition.expression)
+                .collect(Collectors.joining(" && ", "(", ")"));
+        return new PageCondition(name, "(" + test + " ? " + JSON.toJson(name) + " : null)");
+    }
+
+    /**
+     * Condition that holds when another condition does not.
+     *
+     * @param condition condition to negate
+     * @return page condition
+     */
+    public static PageCondition not(PageCondition condition) {
+        String name = "not " + condition.name;
+        return new PageCondition(name, "(" + condition.expression + " ? null : " + JSON.toJson(name) + ")");
+    }
+
+    /**
+     * Name this condition so a match reports this name instead of its branches.
+     *
+     * @param branchName name reported when the condition holds
+     * @return named condition
+     */
+    public PageCondition as(String branchName) {
+        return new PageCondition(branchName, "(" + expression + " ? " + JSON.toJson(branchName) + " : null)");
+    }
+
+    /**
+     * Get the name reported when this condition holds.
+     *
+     * @return condition name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Compile this condition to a predicate body for {@link WaitUtil#waitForCondition}.
+     *
+     * @return JavaScript function body returning the matched branch name or null
+     */
+    public String toScript() {
+        return "return " + expression + ";";
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static void requireBranches(String combinator, PageCondition[] conditions) {
+        if (conditions == null || conditions.length == 0) {
+            throw new IllegalArgumentException(combinator + " needs at least one condition");
+        }
+    }
+
+    private static PageCondition leaf(String name, String test) {
+        return new PageCondition(name, "((" + test + ") ? " + JSON.toJson(name) + " : null)");
+    }
+}
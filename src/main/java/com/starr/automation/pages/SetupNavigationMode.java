@@ -0,0 +1,43 @@
+package com.starr.automation.pages;
+
+import com.starr.automation.config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+
+/**
+ * How Setup pages that Lightning hosts in an iframe are opened, selected with setup.navigation.mode.
+ * LIGHTNING navigates through the Setup shell and works inside its frame; CLASSIC loads the framed
+ * classic page top-level, which skips the Lightning chrome for read-heavy Setup checks.
+ */
+public enum SetupNavigationMode {
+    LIGHTNING,
+    CLASSIC;
+
+    private static final Logger logger = LoggerFactory.getLogger(SetupNavigationMode.class);
+
+    /**
+     * Get the mode selected by the setup.navigation.mode system property or configuration.
+     *
+     * @return active navigation mode
+     */
+    public static SetupNavigationMode current() {
+        String name = ConfigReader.getSetupNavigationMode();
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown Setup navigation mode: {}. Using lightning", name);
+            return LIGHTNING;
+        }
+    }
+
+    /**
+     * Get the name used for this mode in configuration and metrics.
+     *
+     * @return lower-case mode name
+     */
+    public String configName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,8 +1,16 @@
 package com.starr.automation.pages;
 
+import com.starr.automation.utils.MetricsUtil;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.starr.automation.pages.PageCondition.anyOf;
+import static com.starr.automation.pages.PageCondition.visible;
+
 /**
  * Page Object Model for Salesforce Setup Home Page.
  * Locators extracted using Playwright MCP analysis.
@@ -28,6 +36,9 @@ public class SetupPage extends BasePage {
     private static final By HOME_TAB = By.xpath("//button[@role='tab' and contains(text(), 'Home')]");
     private static final By OBJECT_MANAGER_TAB = By.xpath("//button[@role='tab' and contains(text(), 'Object Manager')]");
 
+    /** Holds once the Setup search or Quick Find box is rendered. */
+    public static final PageCondition LOADED = anyOf(visible(SEARCH_SETUP), visible(QUICK_FIND_INPUT)).as("setup");
+
     /**
      * Constructor.
      *
@@ -37,6 +48,29 @@ public class SetupPage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Open Setup home directly and wait until it is ready.
+     *
+     * @param driver WebDriver instance
+     * @return Setup page
+     */
+    public static SetupPage open(WebDriver driver) {
+        Navigator.navigate(driver, Destination.SETUP_HOME);
+        return new SetupPage(driver);
+    }
+
+    /**
+     * Open a Setup node by its Lightning Setup page name (e.g. "CompanyProfileInfo") and wait until it is ready.
+     *
+     * @param driver    WebDriver instance
+     * @param setupPage Setup page name from the /lightning/setup/&lt;name&gt;/home URL
+     * @return Setup page
+     */
+    public static SetupPage open(WebDriver driver, String setupPage) {
+        Navigator.navigate(driver, Destination.SETUP_PAGE, Map.of("page", setupPage));
+        return new SetupPage(driver);
+    }
+
     /**
      * Verify Setup page is loaded.
      *
@@ -45,7 +79,7 @@ public class SetupPage extends BasePage {
     public boolean isLoaded() {
         logger.info("Verifying Setup page is loaded");
         try {
-            return isDisplayed(SEARCH_SETUP) || isDisplayed(QUICK_FIND_INPUT);
+            return isSatisfied(LOADED, loadProbeBudget());
         } catch (Exception e) {
             logger.error("Error verifying Setup page loaded", e);
             return false;
@@ -63,13 +97,28 @@ public class SetupPage extends BasePage {
     }
 
     /**
-     * Navigate to Users management.
+     * Navigate to Users management and wait for the users list.
+     * In classic mode the list is loaded top-level from its classic URL instead of through the Lightning shell.
+     * The load time of successful loads is recorded as setup.users.load.&lt;mode&gt;.
+     *
+     * @throws TimeoutException if the users list does not load
      */
     public void navigateToUsers() {
-        logger.info("Navigating to Users");
-        quickFind("Users");
-        By usersLink = By.xpath("//a[text()='Users' and @href='/lightning/setup/ManageUsers/home']");
-        click(usersLink);
+        SetupNavigationMode mode = SetupNavigationMode.current();
+        logger.info("Navigating to Users ({} mode)", mode.configName());
+        // Resolve the classic URL up front so a first-time resolution is not counted as page load
+        Navigator.url(driver, Destination.SETUP_USERS, Map.of());
+
+        long start = System.nanoTime();
+        Navigator.navigate(driver, Destination.SETUP_USERS);
+        if (!new UsersPage(driver).isLoaded()) {
+            throw new TimeoutException("Users list did not load (" + mode.configName() + " mode)");
+        }
+        long elapsed = System.nanoTime() - start;
+
+        MetricsUtil.recordNanos("setup.users.load." + mode.configName(), elapsed);
+        logger.info("Users list loaded in {} ms ({} mode)", TimeUnit.NANOSECONDS.toMillis(elapsed),
+                mode.configName());
     }
 
     /**
@@ -81,14 +130,9 @@ public class SetupPage extends BasePage {
         logger.info("Navigating to section: {}", sectionName);
         quickFind(sectionName);
         // Wait for search results and click first match
-        try {
-            Thread.sleep(1000); // Simple wait for search results
-            By sectionLink = By.xpath("//a[contains(text(), '" + sectionName + "')]");
-            click(sectionLink);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.warn("Wait interrupted", e);
-        }
+        By sectionLink = By.xpath("//a[contains(text(), '" + sectionName + "')]");
+        awaitPresence("setup.search", sectionLink);
+        click(sectionLink);
     }
 
     /**
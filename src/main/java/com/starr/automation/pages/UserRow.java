@@ -0,0 +1,44 @@
+package com.starr.automation.pages;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One row of the Users list table.
+ *
+ * @param fullName full name
+ * @param alias    alias
+ * @param username username
+ * @param role     role
+ * @param active   active flag as displayed
+ * @param profile  profile name
+ */
+public record UserRow(String fullName, String alias, String username, String role, String active, String profile) {
+
+    /**
+     * Create a row from cell texts in table column order.
+     *
+     * @param cells full name, alias, username, role, active and profile texts
+     * @return user row
+     */
+    public static UserRow fromCells(List<String> cells) {
+        return new UserRow(cells.get(0), cells.get(1), cells.get(2), cells.get(3), cells.get(4), cells.get(5));
+    }
+
+    /**
+     * Convert to the map form returned by {@link UsersPage#getAllUsers()}.
+     *
+     * @return user data map
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> user = new HashMap<>();
+        user.put("fullName", fullName);
+        user.put("alias", alias);
+        user.put("username", username);
+        user.put("role", role);
+        user.put("active", active);
+        user.put("profile", profile);
+        return user;
+    }
+}
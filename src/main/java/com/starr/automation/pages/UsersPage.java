@@ -1,12 +1,29 @@
 package com.starr.automation.pages;
 
+import com.starr.automation.utils.MetricsUtil;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.starr.automation.pages.PageCondition.anyOf;
+import static com.starr.automation.pages.PageCondition.present;
 
 /**
  * Page Object Model for Salesforce Users Management Page.
@@ -25,7 +42,25 @@ public class UsersPage extends BasePage {
 
     // User table locators
     private static final By USER_TABLE = By.cssSelector("table.list");
-    private static final By USER_TABLE_ROWS = By.cssSelector("table.list tbody tr");
+    private static final String USER_TABLE_ROWS_CSS = "table.list tbody tr";
+    private static final By USER_TABLE_ROWS = By.cssSelector(USER_TABLE_ROWS_CSS);
+
+    // Reads cells 1-6 (full name to profile) of every data row; cell 0 holds the row actions
+    private static final String ROWS_SCRIPT = """
+            var rows = document.querySelectorAll(arguments[0]);
+            var result = [];
+            for (var i = 0; i < rows.length; i++) {
+              var cells = rows[i].getElementsByTagName('td');
+              if (cells.length < 7) continue;
+              var values = [];
+              for (var c = 1; c <= 6; c++) {
+                var text = cells[c].innerText;
+                values.push((text === undefined ? cells[c].textContent : text).trim());
+              }
+              result.push(values);
+            }
+            return result;
+            """;
     private static final By TABLE_HEADER = By.cssSelector("table.list thead tr");
 
     // Table column headers
@@ -39,6 +74,20 @@ public class UsersPage extends BasePage {
     // Alphabet navigation
     private static final By ALPHABET_NAV = By.cssSelector("div.listViewport");
 
+    // Pagination; on the first and last page "Previous Page" and "Next Page" are plain text instead of links
+    private static final By NEXT_PAGE_LINK = By.partialLinkText("Next Page");
+    private static final By PREVIOUS_PAGE_LINK = By.partialLinkText("Previous Page");
+
+    // Setup content frame; Lightning hosts the classic Users list in an iframe titled after the page
+    static final By FRAME = By.cssSelector("iframe[title*='Users']");
+
+    private static final PageCondition CONTENT = anyOf(present(PAGE_HEADING), present(VIEW_DROPDOWN)).as("users");
+
+    /** Holds once the Users frame is present, or the list itself when loaded top-level. */
+    public static final PageCondition LOADED = anyOf(present(FRAME), CONTENT).as("users");
+
+    private UsersSnapshot snapshot;
+
     /**
      * Constructor.
      *
@@ -48,6 +97,17 @@ public class UsersPage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Open the Users list directly and wait until it is ready.
+     *
+     * @param driver WebDriver instance
+     * @return Users page
+     */
+    public static UsersPage open(WebDriver driver) {
+        Navigator.navigate(driver, Destination.SETUP_USERS);
+        return new UsersPage(driver);
+    }
+
     /**
      * Verify Users page is loaded.
      *
@@ -56,49 +116,59 @@ public class UsersPage extends BasePage {
     public boolean isLoaded() {
         logger.info("Verifying Users page is loaded");
         try {
-            // Wait for iframe content to load
-            Thread.sleep(2000);
-
-            // Switch to iframe if present
-            List<WebElement> iframes = driver.findElements(By.tagName("iframe"));
-            if (!iframes.isEmpty()) {
-                driver.switchTo().frame(iframes.get(0));
-            }
-
-            boolean loaded = isDisplayed(PAGE_HEADING) || isDisplayed(VIEW_DROPDOWN);
-
-            // Switch back to default content
-            driver.switchTo().defaultContent();
-
-            return loaded;
+            // Wait for the setup iframe (or the page content itself when not framed)
+            awaitCondition("users.frame", LOADED);
+
+            return inFrame(() -> {
+                awaitCondition("users.content", CONTENT);
+                return isDisplayed(PAGE_HEADING) || isDisplayed(VIEW_DROPDOWN);
+            });
+        } catch (TimeoutException e) {
+            logger.info("Users page content did not appear: {}", e.getMessage());
+            return false;
         } catch (Exception e) {
             logger.error("Error verifying Users page loaded", e);
-            driver.switchTo().defaultContent();
             return false;
         }
     }
 
     /**
-     * Switch to iframe context (Users page is in iframe).
+     * Enter the Users frame for a block of actions.
+     * Page methods open their own scope, which is a no-op while an outer scope is open, so wrapping several
+     * calls in one scope switches into the frame once for the whole block.
+     *
+     * @return frame scope to close when the block ends
      */
-    private void switchToIframe() {
-        try {
-            List<WebElement> iframes = driver.findElements(By.tagName("iframe"));
-            if (!iframes.isEmpty()) {
-                driver.switchTo().frame(iframes.get(0));
-                logger.debug("Switched to iframe");
-            }
-        } catch (Exception e) {
-            logger.warn("Could not switch to iframe", e);
-        }
+    public FrameScope frame() {
+        return enterFrame(FRAME);
+    }
+
+    /**
+     * Run an action inside the Users frame.
+     *
+     * @param action action to run
+     */
+    private void inFrame(Runnable action) {
+        inFrame(() -> {
+            action.run();
+            return null;
+        });
     }
 
     /**
-     * Switch back to default content.
+     * Compute a value inside the Users frame.
+     *
+     * @param action action to run
+     * @param <T>    result type
+     * @return action result
      */
-    private void switchToDefaultContent() {
-        driver.switchTo().defaultContent();
-        logger.debug("Switched to default content");
+    private <T> T inFrame(Supplier<T> action) {
+        FrameScope scope = frame();
+        try {
+            return action.get();
+        } finally {
+            scope.close();
+        }
     }
 
     /**
@@ -108,15 +178,12 @@ public class UsersPage extends BasePage {
      */
     public void selectView(String viewName) {
         logger.info("Selecting view: {}", viewName);
-        switchToIframe();
-        try {
-            WebElement dropdown = driver.findElement(VIEW_DROPDOWN);
-            dropdown.click();
+        invalidateSnapshot();
+        inFrame(() -> {
+            click(VIEW_DROPDOWN);
             By option = By.xpath("//select[@title='View:']//option[text()='" + viewName + "']");
             click(option);
-        } finally {
-            switchToDefaultContent();
-        }
+        });
     }
 
     /**
@@ -124,12 +191,8 @@ public class UsersPage extends BasePage {
      */
     public void clickCloneView() {
         logger.info("Clicking Clone view");
-        switchToIframe();
-        try {
-            click(CLONE_VIEW_LINK);
-        } finally {
-            switchToDefaultContent();
-        }
+        invalidateSnapshot();
+        inFrame(() -> click(CLONE_VIEW_LINK));
     }
 
     /**
@@ -137,12 +200,8 @@ public class UsersPage extends BasePage {
      */
     public void clickCreateNewView() {
         logger.info("Clicking Create New View");
-        switchToIframe();
-        try {
-            click(CREATE_NEW_VIEW_LINK);
-        } finally {
-            switchToDefaultContent();
-        }
+        invalidateSnapshot();
+        inFrame(() -> click(CREATE_NEW_VIEW_LINK));
     }
 
     /**
@@ -151,52 +210,107 @@ public class UsersPage extends BasePage {
      * @return list of user data maps
      */
     public List<Map<String, String>> getAllUsers() {
+        return getUserRows().stream()
+                .map(UserRow::toMap)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Get all users from the table as typed rows.
+     * The table is read in a single script call; if that fails, rows are read element by element.
+     *
+     * @return list of user rows
+     */
+    public List<UserRow> getUserRows() {
         logger.info("Getting all users from table");
-        List<Map<String, String>> users = new ArrayList<>();
+        return inFrame(() -> {
+            waitForPresence(USER_TABLE);
+            List<UserRow> users;
+            try {
+                users = readRowsInBulk();
+            } catch (WebDriverException | ClassCastException e) {
+                logger.warn("Bulk table extraction failed, reading rows element by element: {}", e.getMessage());
+                users = readRowsPerElement();
+            }
+            logger.info("Found {} users", users.size());
+            return users;
+        });
+    }
 
-        switchToIframe();
-        try {
-            List<WebElement> rows = driver.findElements(USER_TABLE_ROWS);
-
-            for (WebElement row : rows) {
-                try {
-                    List<WebElement> cells = row.findElements(By.tagName("td"));
-                    if (cells.size() >= 6) {
-                        Map<String, String> user = new HashMap<>();
-                        user.put("fullName", cells.get(1).getText());
-                        user.put("alias", cells.get(2).getText());
-                        user.put("username", cells.get(3).getText());
-                        user.put("role", cells.get(4).getText());
-                        user.put("active", cells.get(5).getText());
-                        user.put("profile", cells.get(6).getText());
-                        users.add(user);
-                    }
-                } catch (Exception e) {
-                    logger.warn("Error parsing user row", e);
+    /**
+     * Get all users by reading each row and cell with separate WebDriver commands.
+     * This is the fallback path of {@link #getUserRows()}; it costs about 7 commands per row.
+     *
+     * @return list of user rows
+     */
+    public List<UserRow> getUserRowsPerElement() {
+        return inFrame(() -> {
+            waitForPresence(USER_TABLE);
+            return readRowsPerElement();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UserRow> readRowsInBulk() {
+        long start = System.nanoTime();
+        List<List<String>> rows = (List<List<String>>) ((JavascriptExecutor) driver)
+                .executeScript(ROWS_SCRIPT, USER_TABLE_ROWS_CSS);
+        List<UserRow> users = rows.stream().map(UserRow::fromCells).toList();
+        MetricsUtil.recordNanos("users.extract.bulk", System.nanoTime() - start);
+        return users;
+    }
+
+    private List<UserRow> readRowsPerElement() {
+        long start = System.nanoTime();
+        List<UserRow> users = new ArrayList<>();
+        for (WebElement row : findAll(USER_TABLE_ROWS)) {
+            try {
+                List<WebElement> cells = findAll(row, By.tagName("td"));
+                if (cells.size() >= 7) {
+                    users.add(new UserRow(cells.get(1).getText(), cells.get(2).getText(), cells.get(3).getText(),
+                            cells.get(4).getText(), cells.get(5).getText(), cells.get(6).getText()));
                 }
+            } catch (Exception e) {
+                logger.warn("Error parsing user row", e);
             }
+        }
+        MetricsUtil.recordNanos("users.extract.per-element", System.nanoTime() - start);
+        return users;
+    }
 
-            logger.info("Found {} users", users.size());
-        } finally {
-            switchToDefaultContent();
+    /**
+     * Get an indexed snapshot of the users on the current list page, scraping the table on first use.
+     * It is reused until an action changes the list (view selection, sorting, alphabet filter,
+     * edits or navigation), so repeated lookups cost a single scrape. To search every page of the view,
+     * use {@link #streamUsers()} or {@link #findFirstUser(Predicate)}.
+     *
+     * @return users snapshot
+     */
+    public UsersSnapshot snapshot() {
+        if (snapshot == null) {
+            snapshot = new UsersSnapshot(getUserRows());
+            logger.info("Captured users snapshot with {} users", snapshot.size());
         }
+        return snapshot;
+    }
 
-        return users;
+    /**
+     * Discard the users snapshot so the next lookup scrapes the list again.
+     */
+    public void invalidateSnapshot() {
+        snapshot = null;
     }
 
     /**
-     * Find user by username.
+     * Find user by username on the current list page, using the {@link #snapshot()}.
      *
      * @param username username to search for
      * @return user data map or null if not found
      */
     public Map<String, String> findUserByUsername(String username) {
         logger.info("Finding user by username: {}", username);
-        List<Map<String, String>> users = getAllUsers();
-
-        return users.stream()
-                .filter(user -> user.get("username").equalsIgnoreCase(username))
-                .findFirst()
+        return snapshot().byUsername(username)
+                .map(UserRow::toMap)
                 .orElse(null);
     }
 
@@ -207,13 +321,11 @@ public class UsersPage extends BasePage {
      */
     public void editUser(String username) {
         logger.info("Editing user: {}", username);
-        switchToIframe();
-        try {
+        invalidateSnapshot();
+        inFrame(() -> {
             By editLink = By.xpath("//td[contains(text(), '" + username + "')]//preceding-sibling::td//a[text()='Edit']");
             click(editLink);
-        } finally {
-            switchToDefaultContent();
-        }
+        });
     }
 
     /**
@@ -223,13 +335,11 @@ public class UsersPage extends BasePage {
      */
     public void clickUser(String username) {
         logger.info("Clicking user: {}", username);
-        switchToIframe();
-        try {
+        invalidateSnapshot();
+        inFrame(() -> {
             By userLink = By.xpath("//a[contains(text(), '" + username + "')]");
             click(userLink);
-        } finally {
-            switchToDefaultContent();
-        }
+        });
     }
 
     /**
@@ -239,12 +349,127 @@ public class UsersPage extends BasePage {
      */
     public void clickAlphabetLetter(String letter) {
         logger.info("Clicking alphabet letter: {}", letter);
-        switchToIframe();
-        try {
-            By letterLink = By.linkText(letter);
-            click(letterLink);
-        } finally {
-            switchToDefaultContent();
+        invalidateSnapshot();
+        inFrame(() -> clickAndAwaitReload(waitForClickable(By.linkText(letter))));
+    }
+
+    /**
+     * Lazily stream all users of the current view, walking list pagination page by page from the first page.
+     * Each page is read in bulk and only one page is held in memory; short-circuiting operations such as
+     * findFirst or anyMatch stop paginating as soon as they match. The stream drives the browser, so consume
+     * it sequentially on the thread that owns the driver.
+     * Consuming the stream moves the list between pages; close it (try-with-resources) to return the list to
+     * the page it showed before the stream started.
+     *
+     * @return stream of user rows
+     */
+    public Stream<UserRow> streamUsers() {
+        PagedUserSpliterator spliterator = new PagedUserSpliterator();
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::restore);
+    }
+
+    /**
+     * Lazily stream all users whose name starts with a letter, walking pagination within that filter.
+     *
+     * @param letter alphabet filter (A-Z, "Other" or "All")
+     * @return stream of user rows
+     */
+    public Stream<UserRow> streamUsers(String letter) {
+        clickAlphabetLetter(letter);
+        return streamUsers();
+    }
+
+    /**
+     * Find the first user matching a predicate, paginating only as far as needed.
+     *
+     * @param predicate condition on the user row
+     * @return first matching user
+     */
+    public Optional<UserRow> findFirstUser(Predicate<UserRow> predicate) {
+        try (Stream<UserRow> users = streamUsers()) {
+            return users.filter(predicate).findFirst();
+        }
+    }
+
+    /**
+     * Move the list one page forward or back.
+     *
+     * @param link {@link #NEXT_PAGE_LINK} or {@link #PREVIOUS_PAGE_LINK}
+     * @return true if there was a page in that direction
+     */
+    private boolean turnPage(By link) {
+        return inFrame(() -> {
+            List<WebElement> links = findAll(link);
+            if (links.isEmpty()) {
+                return false;
+            }
+            invalidateSnapshot();
+            clickAndAwaitReload(links.get(0));
+            MetricsUtil.increment("users.pages");
+            return true;
+        });
+    }
+
+    /**
+     * Click a link that reloads the list and wait until the old table is gone.
+     *
+     * @param link link inside the users frame
+     */
+    private void clickAndAwaitReload(WebElement link) {
+        WebElement table = waitForPresence(USER_TABLE);
+        link.click();
+        wait.until(ExpectedConditions.stalenessOf(table));
+    }
+
+    /**
+     * Spliterator that rewinds the list to its first page, reads one page of users at a time and fetches the
+     * next page only when the current page is exhausted. It remembers the page the list showed before, so
+     * {@link #restore()} can return to it.
+     */
+    private final class PagedUserSpliterator extends Spliterators.AbstractSpliterator<UserRow> {
+        private Iterator<UserRow> page;
+        private boolean lastPage;
+        // Pages from the first page: where the list started and where it is now; -1 until the stream starts
+        private int originPage = -1;
+        private int currentPage;
+
+        private PagedUserSpliterator() {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super UserRow> action) {
+            if (originPage < 0) {
+                originPage = 0;
+                while (turnPage(PREVIOUS_PAGE_LINK)) {
+                    originPage++;
+                }
+            }
+            while (page == null || !page.hasNext()) {
+                if (page != null && (lastPage || !turnPage(NEXT_PAGE_LINK))) {
+                    lastPage = true;
+                    return false;
+                }
+                if (page != null) {
+                    currentPage++;
+                }
+                page = getUserRows().iterator();
+            }
+            action.accept(page.next());
+            return true;
+        }
+
+        /**
+         * Return the list to the page it showed before the stream started.
+         */
+        private void restore() {
+            while (originPage >= 0 && currentPage > originPage && turnPage(PREVIOUS_PAGE_LINK)) {
+                currentPage--;
+            }
+            while (originPage >= 0 && currentPage < originPage && turnPage(NEXT_PAGE_LINK)) {
+                currentPage++;
+            }
+            originPage = -1;
         }
     }
 
@@ -255,13 +480,11 @@ public class UsersPage extends BasePage {
      */
     public void sortByColumn(String columnName) {
         logger.info("Sorting by column: {}", columnName);
-        switchToIframe();
-        try {
+        invalidateSnapshot();
+        inFrame(() -> {
             By columnHeader = By.xpath("//th//a[contains(text(), '" + columnName + "')]");
             click(columnHeader);
-        } finally {
-            switchToDefaultContent();
-        }
+        });
     }
 
     /**
@@ -271,26 +494,24 @@ public class UsersPage extends BasePage {
      */
     public int getUserCount() {
         logger.info("Getting user count");
-        switchToIframe();
-        try {
-            List<WebElement> rows = driver.findElements(USER_TABLE_ROWS);
+        return inFrame(() -> {
+            waitForPresence(USER_TABLE);
+            List<WebElement> rows = findAll(USER_TABLE_ROWS);
             int count = rows.size();
             logger.info("User count: {}", count);
             return count;
-        } finally {
-            switchToDefaultContent();
-        }
+        });
     }
 
     /**
-     * Check if user exists in table.
+     * Check if user exists in table, using the {@link #snapshot()}.
      *
      * @param username username to check
      * @return true if user exists
      */
     public boolean userExists(String username) {
         logger.info("Checking if user exists: {}", username);
-        return findUserByUsername(username) != null;
+        return snapshot().contains(username);
     }
 }
 
@@ -0,0 +1,100 @@
+package com.starr.automation.pages;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the users on a Users list page, indexed for constant-time lookups.
+ * Usernames and aliases are matched case-insensitively, as Salesforce treats them.
+ */
+public final class UsersSnapshot {
+    private final List<UserRow> rows;
+    private final Map<String, UserRow> byUsername;
+    private final Map<String, UserRow> byAlias;
+    private final Map<String, List<UserRow>> byProfile;
+
+    /**
+     * Build a snapshot from scraped rows.
+     *
+     * @param rows user rows in table order
+     */
+    public UsersSnapshot(List<UserRow> rows) {
+        this.rows = List.copyOf(rows);
+        Map<String, UserRow> usernames = new HashMap<>();
+        Map<String, UserRow> aliases = new HashMap<>();
+        for (UserRow row : this.rows) {
+            usernames.putIfAbsent(key(row.username()), row);
+            aliases.putIfAbsent(key(row.alias()), row);
+        }
+        this.byUsername = Map.copyOf(usernames);
+        this.byAlias = Map.copyOf(aliases);
+        this.byProfile = this.rows.stream().collect(Collectors.collectingAndThen(
+                Collectors.groupingBy(UserRow::profile, Collectors.toUnmodifiableList()), Map::copyOf));
+    }
+
+    /**
+     * Get all rows in table order.
+     *
+     * @return unmodifiable list of user rows
+     */
+    public List<UserRow> rows() {
+        return rows;
+    }
+
+    /**
+     * Get number of users in the snapshot.
+     *
+     * @return user count
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Look up a user by username.
+     *
+     * @param username username, case-insensitive
+     * @return matching user
+     */
+    public Optional<UserRow> byUsername(String username) {
+        return Optional.ofNullable(byUsername.get(key(username)));
+    }
+
+    /**
+     * Look up a user by alias.
+     *
+     * @param alias alias, case-insensitive
+     * @return matching user
+     */
+    public Optional<UserRow> byAlias(String alias) {
+        return Optional.ofNullable(byAlias.get(key(alias)));
+    }
+
+    /**
+     * Get all users with a profile.
+     *
+     * @param profile profile name
+     * @return users with that profile, empty if none
+     */
+    public List<UserRow> withProfile(String profile) {
+        return byProfile.getOrDefault(profile, List.of());
+    }
+
+    /**
+     * Check if a username is in the snapshot.
+     *
+     * @param username username, case-insensitive
+     * @return true if the user exists
+     */
+    public boolean contains(String username) {
+        return byUsername.containsKey(key(username));
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
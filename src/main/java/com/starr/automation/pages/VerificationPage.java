@@ -1,10 +1,14 @@
 package com.starr.automation.pages;
 
 import com.starr.automation.config.ConfigReader;
+import com.starr.automation.utils.OtpScheduler;
 import com.starr.automation.utils.OtpUtil;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import static com.starr.automation.pages.PageCondition.allOf;
+import static com.starr.automation.pages.PageCondition.visible;
+
 /**
  * Page Object Model for Salesforce Identity Verification Page (2FA).
  * Locators extracted using Playwright MCP analysis.
@@ -21,6 +25,13 @@ public class VerificationPage extends BasePage {
     private static final By ERROR_MESSAGE = By.cssSelector(".errorMsg");
     private static final By VERIFICATION_MESSAGE = By.cssSelector(".instruction");
 
+    /** Holds once the verification heading and code input are rendered. */
+    public static final PageCondition LOADED = allOf(visible(PAGE_HEADING), visible(VERIFICATION_CODE_INPUT))
+            .as("verification");
+
+    private String otpSecret;
+    private boolean userSecret;
+
     /**
      * Constructor.
      *
@@ -30,6 +41,29 @@ public class VerificationPage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Generate codes from a user's own OTP secret instead of the configured test.otp.secret.
+     * Once a user's secret is set, the configured secret is never used, even if the user has none.
+     *
+     * @param otpSecret Base32 secret of the user being verified, null if the user has none
+     * @return this page
+     */
+    public VerificationPage withOtpSecret(String otpSecret) {
+        this.otpSecret = otpSecret;
+        this.userSecret = true;
+        return this;
+    }
+
+    /**
+     * Identity verification page is a classic page outside Lightning, so actions never wait for Lightning idle.
+     *
+     * @return false
+     */
+    @Override
+    protected boolean waitsForLightningIdle() {
+        return false;
+    }
+
     /**
      * Verify that verification page is loaded.
      *
@@ -37,7 +71,7 @@ public class VerificationPage extends BasePage {
      */
     public boolean isLoaded() {
         logger.info("Verifying identity verification page is loaded");
-        return isDisplayed(PAGE_HEADING) && isDisplayed(VERIFICATION_CODE_INPUT);
+        return isSatisfied(LOADED, loadProbeBudget());
     }
 
     /**
@@ -80,7 +114,7 @@ public class VerificationPage extends BasePage {
     public VerificationPage setDontAskAgain(boolean check) {
         logger.info("Setting 'Don't ask again' to: {}", check);
         if (isDisplayed(DONT_ASK_AGAIN_CHECKBOX)) {
-            boolean isChecked = driver.findElement(DONT_ASK_AGAIN_CHECKBOX).isSelected();
+            boolean isChecked = waitForVisibility(DONT_ASK_AGAIN_CHECKBOX).isSelected();
             if (isChecked != check) {
                 click(DONT_ASK_AGAIN_CHECKBOX);
             }
@@ -144,37 +178,37 @@ public class VerificationPage extends BasePage {
     }
 
     /**
-     * Generate OTP code using configured secret key.
-     * Requires test.otp.secret to be configured in config.properties.
+     * Generate OTP code using the user's secret set by {@link #withOtpSecret(String)} or, when no user secret was
+     * set, the configured test.otp.secret.
      *
      * @return generated 6-digit OTP code
      * @throws IllegalStateException if OTP secret is not configured
      */
     public String generateOtp() {
-        String otpSecret = ConfigReader.getOtpSecret();
+        String otp = OtpUtil.generateOtp(otpSecret());
+        logger.info("Generated OTP code (expires in {} seconds)", OtpUtil.getRemainingSeconds());
+        return otp;
+    }
+
+    private String otpSecret() {
+        String otpSecret = userSecret ? this.otpSecret : ConfigReader.getOtpSecret();
         if (otpSecret == null || otpSecret.isEmpty() || otpSecret.equals("YOUR_OTP_SECRET_HERE")) {
-            String errorMsg = "OTP secret is not configured. Please set test.otp.secret in config.properties";
+            String errorMsg = userSecret
+                    ? "The user being verified has no OTP secret. Please set test.user.N.otp.secret"
+                    : "OTP secret is not configured. Please set test.otp.secret in config.properties";
             logger.error(errorMsg);
             throw new IllegalStateException(errorMsg);
         }
-
-        String otp = OtpUtil.generateOtp(otpSecret);
-        logger.info("Generated OTP code (expires in {} seconds)", OtpUtil.getRemainingSeconds());
-        return otp;
+        return otpSecret;
     }
 
     /**
-     * Verify using auto-generated OTP from configured secret.
+     * Verify using an OTP auto-generated from this page's OTP secret.
      * This method will automatically generate the OTP code and submit it.
-     * Requires test.otp.enabled=true and test.otp.secret to be configured.
+     * Requires test.otp.enabled=true and either a secret set by {@link #withOtpSecret(String)} or test.otp.secret.
      */
     public void verifyWithAutoOtp() {
-        if (!ConfigReader.isOtpEnabled()) {
-            logger.warn("OTP auto-generation is disabled. Enable with test.otp.enabled=true");
-            throw new IllegalStateException("OTP generation is disabled in configuration");
-        }
-
-        String otp = generateOtp();
+        String otp = claimOtp();
         logger.info("Using auto-generated OTP for verification");
         verify(otp);
     }
@@ -185,12 +219,7 @@ public class VerificationPage extends BasePage {
      * @param dontAskAgain whether to check "Don't ask again" checkbox
      */
     public void verifyWithAutoOtp(boolean dontAskAgain) {
-        if (!ConfigReader.isOtpEnabled()) {
-            logger.warn("OTP auto-generation is disabled. Enable with test.otp.enabled=true");
-            throw new IllegalStateException("OTP generation is disabled in configuration");
-        }
-
-        String otp = generateOtp();
+        String otp = claimOtp();
         logger.info("Using auto-generated OTP for verification with dontAskAgain={}", dontAskAgain);
         enterVerificationCode(otp);
         setDontAskAgain(dontAskAgain);
@@ -198,29 +227,32 @@ public class VerificationPage extends BasePage {
     }
 
     /**
-     * Wait and verify with auto-generated OTP.
-     * Useful when the OTP might be about to expire - waits for a fresh code.
+     * Verify with an auto-generated OTP that is still valid when the server checks it.
+     * Every auto-generated OTP is scheduled by {@link OtpScheduler}, which submits the next step's code near a
+     * boundary, only waits when neither step is safe and never hands the same step to two logins.
      *
-     * @param waitForFreshCode if true, waits if current OTP expires in less than 5 seconds
+     * @param waitForFreshCode ignored; codes are always scheduled against the TOTP window
+     * @param dontAskAgain     whether to check "Don't ask again" checkbox
+     * @deprecated every auto-generated code is scheduled, so waitForFreshCode has no effect;
+     * use {@link #verifyWithAutoOtp(boolean)} instead
      */
+    @Deprecated(forRemoval = true)
     public void verifyWithAutoOtp(boolean waitForFreshCode, boolean dontAskAgain) {
+        verifyWithAutoOtp(dontAskAgain);
+    }
+
+    /**
+     * Claim a code for submission from this page's OTP secret.
+     *
+     * @return 6-digit OTP code no other login will submit
+     * @throws IllegalStateException if OTP generation is disabled or the secret is not configured
+     */
+    private String claimOtp() {
         if (!ConfigReader.isOtpEnabled()) {
             logger.warn("OTP auto-generation is disabled. Enable with test.otp.enabled=true");
             throw new IllegalStateException("OTP generation is disabled in configuration");
         }
-
-        if (waitForFreshCode && OtpUtil.getRemainingSeconds() < 5) {
-            int waitTime = OtpUtil.getRemainingSeconds() + 1;
-            logger.info("Current OTP about to expire. Waiting {} seconds for fresh code", waitTime);
-            try {
-                Thread.sleep(waitTime * 1000L);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                logger.warn("Wait interrupted", e);
-            }
-        }
-
-        verifyWithAutoOtp(dontAskAgain);
+        return OtpScheduler.nextCode(otpSecret());
     }
 }
 
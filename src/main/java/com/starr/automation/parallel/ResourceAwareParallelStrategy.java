@@ -0,0 +1,62 @@
+package com.starr.automation.parallel;
+
+import com.starr.automation.driver.ResourceGovernor;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * JUnit parallel execution strategy that sizes the worker pool from machine resources.
+ * Each worker drives a real browser, so parallelism is bounded by both CPUs and free memory
+ * as computed by {@link ResourceGovernor}.
+ * Enable with junit.jupiter.execution.parallel.config.strategy=custom.
+ */
+public class ResourceAwareParallelStrategy implements ParallelExecutionConfigurationStrategy {
+    private static final Logger logger = LoggerFactory.getLogger(ResourceAwareParallelStrategy.class);
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int parallelism = ResourceGovernor.recommendedParallelism();
+        logger.info("Running tests with {} parallel workers", parallelism);
+
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMaxPoolSize() {
+                // Compensation threads replace workers blocked in joins and may pick up other test tasks,
+                // so the number of concurrently running tests can briefly exceed the parallelism
+                return parallelism + 256;
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return parallelism;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return KEEP_ALIVE_SECONDS;
+            }
+
+            @Override
+            public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+                return pool -> true;
+            }
+        };
+    }
+}
@@ -0,0 +1,227 @@
+package com.starr.automation.session;
+
+import com.starr.automation.config.ConfigReader;
+import com.starr.automation.pages.HomePage;
+import com.starr.automation.pages.LoginPage;
+import com.starr.automation.pages.VerificationPage;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides authenticated browser sessions without repeating the login and verification flow for every test.
+ * The first request for a user logs in through {@link LoginPage} and {@link VerificationPage}, captures cookies
+ * and web storage into a {@link SessionSnapshot}, and persists it. Later requests restore the snapshot into the
+ * driver and land directly on the Lightning home page. Expired sessions are detected and re-authenticated.
+ */
+public class SessionManager {
+    private static final Logger logger = LoggerFactory.getLogger(SessionManager.class);
+    private static final String PROBE_PATH = "/favicon.ico";
+    private static final Map<String, SessionSnapshot> snapshots = new ConcurrentHashMap<>();
+    private static final SessionStore store = SessionStore.fromConfig();
+
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "var dump = function (s) { var o = {}; if (!s) { return o; }"
+                    + " for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; };"
+                    + "return { local: dump(window.localStorage), session: dump(window.sessionStorage) };";
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "var fill = function (s, data) { Object.keys(data).forEach(function (k) { s.setItem(k, data[k]); }); };"
+                    + "fill(window.localStorage, arguments[0]); fill(window.sessionStorage, arguments[1]);";
+
+    private SessionManager() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Put the driver into an authenticated session for the configured test user.
+     *
+     * @param driver WebDriver instance
+     */
+    public static void startAuthenticated(WebDriver driver) {
+        startAuthenticated(driver, ConfigReader.getTestUserEmail(), ConfigReader.getTestUserPassword());
+    }
+
+    /**
+     * Put the driver into an authenticated session for the given user, leaving it on the Lightning home page.
+     * Restores a cached session when one is available and still valid, otherwise logs in and caches the result.
+     * Identity verification uses the configured test.otp.secret.
+     *
+     * @param driver   WebDriver instance
+     * @param username username
+     * @param password password
+     */
+    public static void startAuthenticated(WebDriver driver, String username, String password) {
+        startAuthenticated(driver, UserPool.singleUser(username, password, ConfigReader.snapshot()));
+    }
+
+    /**
+     * Put the driver into an authenticated session for a pooled test user, verifying with the user's own
+     * OTP secret when it has one.
+     *
+     * @param driver WebDriver instance
+     * @param user   test user
+     */
+    public static void startAuthenticated(WebDriver driver, TestUser user) {
+        String username = user.username();
+        if (!ConfigReader.isSessionCacheEnabled()) {
+            login(driver, user);
+            return;
+        }
+
+        SessionSnapshot cached = snapshots.computeIfAbsent(username, store::load);
+        if (cached != null) {
+            if (restore(driver, cached)) {
+                logger.info("Restored cached session for {}", username);
+                return;
+            }
+            logger.info("Cached session for {} is no longer valid, re-authenticating", username);
+            snapshots.remove(username, cached);
+        }
+
+        SessionSnapshot snapshot = store.withLock(username, () -> {
+            // Another thread or fork may have refreshed the session while we waited for the lock
+            SessionSnapshot stored = store.load(username);
+            if (stored != null && (cached == null || stored.capturedAtMillis() != cached.capturedAtMillis())
+                    && restore(driver, stored)) {
+                logger.info("Restored session for {} refreshed by another worker", username);
+                return stored;
+            }
+            store.delete(username);
+            login(driver, user);
+            SessionSnapshot captured = capture(driver, username);
+            store.save(captured);
+            return captured;
+        });
+        snapshots.put(username, snapshot);
+    }
+
+    /**
+     * Drop any cached session for the user, forcing the next request to log in again.
+     *
+     * @param username username
+     */
+    public static void invalidate(String username) {
+        snapshots.remove(username);
+        store.delete(username);
+    }
+
+    /**
+     * Log in through the login and verification pages and wait for the Lightning home page.
+     *
+     * @param driver WebDriver instance
+     * @param user   user to log in as
+     */
+    private static void login(WebDriver driver, TestUser user) {
+        String username = user.username();
+        logger.info("Logging in as {}", username);
+        LoginPage loginPage = new LoginPage(driver);
+        loginPage.navigateTo(ConfigReader.getBaseUrl());
+        loginPage.login(username, user.password());
+
+        LoginPage.Outcome outcome;
+        try {
+            outcome = loginPage.waitForLoginOutcome();
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Login failed for " + username + ": no home or verification page", e);
+        }
+        if (outcome == LoginPage.Outcome.ERROR) {
+            throw new IllegalStateException("Login failed for " + username + ": " + loginPage.getErrorMessage());
+        }
+
+        if (outcome == LoginPage.Outcome.VERIFICATION) {
+            new VerificationPage(driver).withOtpSecret(user.otpSecret()).verifyWithAutoOtp(false);
+            HomePage homePage = new HomePage(driver);
+            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getExplicitWait()));
+            wait.until(d -> homePage.isLoaded());
+        }
+    }
+
+    /**
+     * Capture cookies and storage for the Lightning origin the driver is on and for the login origin.
+     *
+     * @param driver   WebDriver instance on the Lightning home page
+     * @param username user the session belongs to
+     * @return captured snapshot
+     */
+    private static SessionSnapshot capture(WebDriver driver, String username) {
+        String homeUrl = driver.getCurrentUrl();
+        List<SessionSnapshot.OriginState> origins = new ArrayList<>();
+        SessionSnapshot.OriginState appOrigin = captureOrigin(driver, originOf(homeUrl));
+
+        String loginOrigin = originOf(ConfigReader.getBaseUrl());
+        if (!loginOrigin.equals(appOrigin.origin())) {
+            driver.get(loginOrigin + PROBE_PATH);
+            origins.add(captureOrigin(driver, loginOrigin));
+            driver.get(homeUrl);
+        }
+        origins.add(appOrigin);
+
+        logger.info("Captured session for {} across {} origins", username, origins.size());
+        return new SessionSnapshot(username, homeUrl, System.currentTimeMillis(), origins);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SessionSnapshot.OriginState captureOrigin(WebDriver driver, String origin) {
+        Map<String, Map<String, String>> storage = (Map<String, Map<String, String>>)
+                ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+        return new SessionSnapshot.OriginState(origin,
+                new ArrayList<>(driver.manage().getCookies()),
+                new HashMap<>(storage.get("local")),
+                new HashMap<>(storage.get("session")));
+    }
+
+    /**
+     * Restore a snapshot into the driver and verify the session is still accepted.
+     *
+     * @param driver   WebDriver instance
+     * @param snapshot snapshot to restore
+     * @return true if the driver ended up authenticated on the Lightning home page
+     */
+    private static boolean restore(WebDriver driver, SessionSnapshot snapshot) {
+        if (snapshot.isExpired(store.getTtl())) {
+            return false;
+        }
+        try {
+            for (SessionSnapshot.OriginState origin : snapshot.origins()) {
+                driver.get(origin.origin() + PROBE_PATH);
+                for (Cookie cookie : origin.cookies()) {
+                    driver.manage().addCookie(cookie);
+                }
+                ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT,
+                        origin.localStorage(), origin.sessionStorage());
+            }
+            driver.get(snapshot.homeUrl());
+
+            // Invalid sessions are redirected away from Lightning back to the login page
+            HomePage homePage = new HomePage(driver);
+            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getExplicitWait()));
+            wait.until(d -> !isLightningUrl(d.getCurrentUrl()) || homePage.isLoaded());
+            return isLightningUrl(driver.getCurrentUrl());
+        } catch (WebDriverException e) {
+            logger.warn("Failed to restore session for {}: {}", snapshot.username(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isLightningUrl(String url) {
+        return url != null && url.contains("/lightning/");
+    }
+
+    private static String originOf(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+}
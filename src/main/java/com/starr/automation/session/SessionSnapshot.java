@@ -0,0 +1,117 @@
+package com.starr.automation.session;
+
+import org.openqa.selenium.Cookie;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Captured authenticated browser state for a single user.
+ * Holds cookies and local/session storage for every origin the session spans
+ * (e.g. the my.salesforce.com login domain and the lightning.force.com app domain).
+ *
+ * @param username         user the session belongs to
+ * @param homeUrl          page to open after the state has been restored
+ * @param capturedAtMillis capture time in epoch milliseconds
+ * @param origins          per-origin browser state
+ */
+public record SessionSnapshot(String username, String homeUrl, long capturedAtMillis, List<OriginState> origins) {
+
+    /**
+     * Browser state for a single origin.
+     *
+     * @param origin         scheme, host and port (e.g. https://acme.lightning.force.com)
+     * @param cookies        cookies visible on the origin
+     * @param localStorage   localStorage entries
+     * @param sessionStorage sessionStorage entries
+     */
+    public record OriginState(String origin, List<Cookie> cookies,
+                              Map<String, String> localStorage, Map<String, String> sessionStorage) {
+    }
+
+    /**
+     * Check whether the snapshot is older than the given time to live.
+     *
+     * @param ttl maximum snapshot age
+     * @return true if the snapshot should no longer be used
+     */
+    public boolean isExpired(Duration ttl) {
+        return Instant.ofEpochMilli(capturedAtMillis).plus(ttl).isBefore(Instant.now());
+    }
+
+    /**
+     * Convert snapshot to a JSON friendly map.
+     *
+     * @return map representation
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("username", username);
+        map.put("homeUrl", homeUrl);
+        map.put("capturedAtMillis", capturedAtMillis);
+        map.put("origins", origins.stream().map(origin -> {
+            Map<String, Object> originMap = new LinkedHashMap<>();
+            originMap.put("origin", origin.origin());
+            originMap.put("cookies", origin.cookies().stream().map(SessionSnapshot::cookieToMap).toList());
+            originMap.put("localStorage", origin.localStorage());
+            originMap.put("sessionStorage", origin.sessionStorage());
+            return originMap;
+        }).toList());
+        return map;
+    }
+
+    /**
+     * Rebuild a snapshot from its map representation.
+     *
+     * @param map map produced by {@link #toMap()}
+     * @return session snapshot
+     */
+    @SuppressWarnings("unchecked")
+    public static SessionSnapshot fromMap(Map<String, Object> map) {
+        List<OriginState> origins = ((List<Map<String, Object>>) map.get("origins")).stream()
+                .map(originMap -> new OriginState(
+                        (String) originMap.get("origin"),
+                        ((List<Map<String, Object>>) originMap.get("cookies")).stream()
+                                .map(SessionSnapshot::cookieFromMap)
+                                .toList(),
+                        new HashMap<>((Map<String, String>) originMap.get("localStorage")),
+                        new HashMap<>((Map<String, String>) originMap.get("sessionStorage"))))
+                .toList();
+        return new SessionSnapshot(
+                (String) map.get("username"),
+                (String) map.get("homeUrl"),
+                ((Number) map.get("capturedAtMillis")).longValue(),
+                origins);
+    }
+
+    private static Map<String, Object> cookieToMap(Cookie cookie) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", cookie.getName());
+        map.put("value", cookie.getValue());
+        map.put("domain", cookie.getDomain());
+        map.put("path", cookie.getPath());
+        map.put("expiry", cookie.getExpiry() == null ? null : cookie.getExpiry().getTime());
+        map.put("secure", cookie.isSecure());
+        map.put("httpOnly", cookie.isHttpOnly());
+        map.put("sameSite", cookie.getSameSite());
+        return map;
+    }
+
+    private static Cookie cookieFromMap(Map<String, Object> map) {
+        Number expiry = (Number) map.get("expiry");
+        return new Cookie(
+                (String) map.get("name"),
+                (String) map.get("value"),
+                (String) map.get("domain"),
+                (String) map.get("path"),
+                expiry == null ? null : new Date(expiry.longValue()),
+                Boolean.TRUE.equals(map.get("secure")),
+                Boolean.TRUE.equals(map.get("httpOnly")),
+                (String) map.get("sameSite"));
+    }
+}
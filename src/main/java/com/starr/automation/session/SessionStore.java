@@ -0,0 +1,191 @@
+package com.starr.automation.session;
+
+import com.starr.automation.config.ConfigReader;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Disk-backed store for {@link SessionSnapshot}s.
+ * Snapshots are written as JSON files named after a hash of the org URL and username,
+ * and guarded by a file lock so separate surefire forks never log the same user in concurrently.
+ * Snapshots hold live session cookies, so files are readable by their owner only where the file system
+ * supports POSIX permissions.
+ */
+class SessionStore {
+    private static final Logger logger = LoggerFactory.getLogger(SessionStore.class);
+    private static final Json json = new Json();
+
+    private final Path directory;
+    private final Duration ttl;
+    private final Map<String, ReentrantLock> localLocks = new ConcurrentHashMap<>();
+
+    SessionStore(Path directory, Duration ttl) {
+        this.directory = directory;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Create a store from configuration.
+     *
+     * @return configured session store
+     */
+    static SessionStore fromConfig() {
+        return new SessionStore(Paths.get(ConfigReader.getSessionCacheDir()),
+                Duration.ofMinutes(ConfigReader.getSessionCacheTtlMinutes()));
+    }
+
+    /**
+     * Get the configured snapshot time to live.
+     *
+     * @return snapshot time to live
+     */
+    Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Load a non-expired snapshot for the user.
+     *
+     * @param username user name
+     * @return snapshot or null if none is stored or it has expired
+     */
+    SessionSnapshot load(String username) {
+        Path file = snapshotFile(username);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            Map<String, Object> map = json.toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            SessionSnapshot snapshot = SessionSnapshot.fromMap(map);
+            if (snapshot.isExpired(ttl)) {
+                logger.info("Stored session for {} has expired", username);
+                return null;
+            }
+            return snapshot;
+        } catch (IOException | JsonException | ClassCastException | NullPointerException e) {
+            logger.warn("Ignoring unreadable session snapshot {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Persist a snapshot, replacing any previous one for the same user.
+     *
+     * @param snapshot snapshot to store
+     */
+    void save(SessionSnapshot snapshot) {
+        Path file = snapshotFile(snapshot.username());
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "session", ".tmp", ownerOnly());
+            Files.writeString(temp, json.toJson(snapshot.toMap()), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Session snapshot for {} saved to {}", snapshot.username(), file);
+        } catch (IOException e) {
+            logger.warn("Failed to save session snapshot for {}", snapshot.username(), e);
+        }
+    }
+
+    /**
+     * Delete the stored snapshot for the user.
+     *
+     * @param username user name
+     */
+    void delete(String username) {
+        try {
+            Files.deleteIfExists(snapshotFile(username));
+        } catch (IOException e) {
+            logger.warn("Failed to delete session snapshot for {}", username, e);
+        }
+    }
+
+    /**
+     * Run an action while holding the user's lock, both within this JVM and across processes.
+     *
+     * @param username user name
+     * @param action   action to run
+     * @param <T>      result type
+     * @return action result
+     */
+    <T> T withLock(String username, Supplier<T> action) {
+        ReentrantLock localLock = localLocks.computeIfAbsent(username, key -> new ReentrantLock());
+        localLock.lock();
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(lockFile(username),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    return action.get();
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to lock session cache for " + username, e);
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    /**
+     * Get the attributes that restrict a new file to its owner.
+     *
+     * @return rw------- permissions on POSIX file systems, otherwise no attributes
+     */
+    private static FileAttribute<?>[] ownerOnly() {
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return new FileAttribute<?>[0];
+        }
+        return new FileAttribute<?>[] {
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))};
+    }
+
+    private Path snapshotFile(String username) {
+        return directory.resolve(key(username) + ".json");
+    }
+
+    private Path lockFile(String username) {
+        return directory.resolve(key(username) + ".lock");
+    }
+
+    /**
+     * Build a file name safe key that does not expose the username on disk.
+     *
+     * @param username user name
+     * @return hex encoded SHA-256 of org URL and username
+     */
+    private static String key(String username) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((ConfigReader.getBaseUrl() + "|" + username).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.starr.automation.session;
+
+/**
+ * Credentials of one org user that tests can log in as.
+ *
+ * @param username  login username
+ * @param password  login password
+ * @param otpSecret Base32 TOTP secret for identity verification, null if the user has none
+ * @param role      role used to select users for tests (e.g. "user" or "admin")
+ */
+public record TestUser(String username, String password, String otpSecret, String role) {
+
+    @Override
+    public String toString() {
+        // Keep credentials out of logs and reports
+        return username + " (" + role + ")";
+    }
+}
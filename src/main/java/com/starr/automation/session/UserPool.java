@@ -0,0 +1,255 @@
+package com.starr.automation.session;
+
+import com.starr.automation.config.ConfigReader;
+import com.starr.automation.config.ConfigSnapshot;
+import com.starr.automation.utils.MetricsUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of test users leased exclusively to workers, so parallel tests never share a session or an OTP secret.
+ * Users are configured as test.user.N.email / .password / .otp.secret / .role (N = 1, 2, ...); when none are
+ * configured the single test.user.email / test.user.password / test.otp.secret user is used.
+ * Idle users are handed out least recently used first. When no user with the requested role is idle, callers
+ * queue in arrival order and a returned user goes straight to the first waiter that accepts its role.
+ * Leases are counted as user.pool.leases; waits on an exhausted pool as user.pool.waits and user.pool.wait.
+ */
+public class UserPool {
+    private static final Logger logger = LoggerFactory.getLogger(UserPool.class);
+    private static final String DEFAULT_ROLE = "user";
+    private static volatile UserPool shared;
+
+    private final List<TestUser> users;
+    private final int leaseTimeoutSeconds;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<TestUser> idle = new ArrayDeque<>();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private final Set<TestUser> leased = ConcurrentHashMap.newKeySet();
+
+    UserPool(List<TestUser> users, int leaseTimeoutSeconds) {
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No test users configured. Set test.user.1.email or test.user.email");
+        }
+        this.users = List.copyOf(users);
+        this.leaseTimeoutSeconds = leaseTimeoutSeconds;
+        this.idle.addAll(users);
+    }
+
+    /**
+     * Get the pool of users loaded from configuration.
+     *
+     * @return shared user pool
+     */
+    public static UserPool shared() {
+        if (shared == null) {
+            synchronized (UserPool.class) {
+                if (shared == null) {
+                    shared = fromConfig(ConfigReader.snapshot());
+                    logger.info("User pool loaded with {} users", shared.users.size());
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Build a pool of the users in a configuration.
+     *
+     * @param config configuration
+     * @return new user pool
+     * @throws IllegalStateException if no user is configured or an indexed user lacks a required OTP secret
+     */
+    static UserPool fromConfig(ConfigSnapshot config) {
+        return new UserPool(loadUsers(config), config.users().leaseTimeout());
+    }
+
+    /**
+     * Check whether any test user is configured, without loading the pool.
+     *
+     * @return true if test.user.1.email or test.user.email is set
+     */
+    public static boolean hasUsers() {
+        return ConfigReader.getProperty("test.user.1.email") != null || ConfigReader.getTestUserEmail() != null;
+    }
+
+    /**
+     * Lease any user, waiting while all users are leased.
+     *
+     * @return leased user; hand it back with {@link #release(TestUser)}
+     */
+    public TestUser lease() {
+        return lease(null);
+    }
+
+    /**
+     * Lease a user with a role, waiting while all users with that role are leased.
+     *
+     * @param role required role, null for any role
+     * @return leased user; hand it back with {@link #release(TestUser)}
+     * @throws IllegalArgumentException if no configured user has the role
+     * @throws IllegalStateException    if no user becomes available within user.pool.lease.timeout seconds
+     */
+    public TestUser lease(String role) {
+        if (users.stream().noneMatch(user -> matches(user, role))) {
+            throw new IllegalArgumentException("No test user configured with role " + role);
+        }
+        lock.lock();
+        try {
+            TestUser user = takeIdle(role);
+            if (user == null) {
+                user = await(role);
+            }
+            leased.add(user);
+            MetricsUtil.increment("user.pool.leases");
+            logger.debug("Leased test user {}", user);
+            return user;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return a leased user to the pool, handing it to the longest waiting caller that accepts its role.
+     *
+     * @param user leased user, ignored if null or not leased
+     */
+    public void release(TestUser user) {
+        if (user == null || !leased.remove(user)) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (Iterator<Waiter> iterator = waiters.iterator(); iterator.hasNext(); ) {
+                Waiter waiter = iterator.next();
+                if (matches(user, waiter.role)) {
+                    iterator.remove();
+                    waiter.user = user;
+                    waiter.ready.signal();
+                    return;
+                }
+            }
+            idle.addLast(user);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the configured users.
+     *
+     * @return all users in the pool
+     */
+    public List<TestUser> getUsers() {
+        return users;
+    }
+
+    private TestUser takeIdle(String role) {
+        for (Iterator<TestUser> iterator = idle.iterator(); iterator.hasNext(); ) {
+            TestUser user = iterator.next();
+            if (matches(user, role)) {
+                iterator.remove();
+                return user;
+            }
+        }
+        return null;
+    }
+
+    private TestUser await(String role) {
+        Waiter waiter = new Waiter(role, lock.newCondition());
+        waiters.addLast(waiter);
+        MetricsUtil.increment("user.pool.waits");
+        logger.info("All test users{} are leased, waiting", role == null ? "" : " with role " + role);
+
+        long start = System.nanoTime();
+        long remaining = TimeUnit.SECONDS.toNanos(leaseTimeoutSeconds);
+        try {
+            while (waiter.user == null && remaining > 0) {
+                remaining = waiter.ready.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        MetricsUtil.recordNanos("user.pool.wait", System.nanoTime() - start);
+        if (waiter.user == null) {
+            waiters.remove(waiter);
+            throw new IllegalStateException("No test user" + (role == null ? "" : " with role " + role)
+                    + " became available within " + leaseTimeoutSeconds + " seconds");
+        }
+        return waiter.user;
+    }
+
+    private static boolean matches(TestUser user, String role) {
+        return role == null || role.equalsIgnoreCase(user.role());
+    }
+
+    /**
+     * Read indexed users from configuration, falling back to the single configured user.
+     * Only the single configured user falls back to test.otp.secret; with OTP enabled, every indexed user must
+     * have its own secret, since codes generated from another user's secret are always rejected.
+     *
+     * @param config configuration
+     * @return configured users
+     * @throws IllegalStateException if OTP is enabled and an indexed user has no test.user.N.otp.secret
+     */
+    static List<TestUser> loadUsers(ConfigSnapshot config) {
+        List<TestUser> users = new ArrayList<>();
+        List<String> missingSecrets = new ArrayList<>();
+        for (int i = 1; config.get("test.user." + i + ".email") != null; i++) {
+            String prefix = "test.user." + i + ".";
+            String otpSecret = config.get(prefix + "otp.secret");
+            if (config.otp().enabled() && (otpSecret == null || otpSecret.isBlank())) {
+                missingSecrets.add(prefix + "otp.secret");
+            }
+            users.add(new TestUser(
+                    config.get(prefix + "email"),
+                    config.get(prefix + "password"),
+                    otpSecret,
+                    config.get(prefix + "role", DEFAULT_ROLE)));
+        }
+        if (!missingSecrets.isEmpty()) {
+            throw new IllegalStateException("OTP is enabled but pooled test users have no OTP secret: "
+                    + String.join(", ", missingSecrets));
+        }
+        if (users.isEmpty() && config.users().email() != null) {
+            users.add(singleUser(config.users().email(), config.users().password(), config));
+        }
+        return users;
+    }
+
+    /**
+     * Build a user outside the indexed users, verified with the configured test.otp.secret.
+     *
+     * @param username username
+     * @param password password
+     * @param config   configuration supplying the OTP secret and role
+     * @return test user
+     */
+    static TestUser singleUser(String username, String password, ConfigSnapshot config) {
+        return new TestUser(username, password, config.otp().secret(), config.get("test.user.role", DEFAULT_ROLE));
+    }
+
+    /**
+     * Caller queued for a user with a role.
+     */
+    private static final class Waiter {
+        private final String role;
+        private final Condition ready;
+        private TestUser user;
+
+        private Waiter(String role, Condition ready) {
+            this.role = role;
+            this.ready = ready;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.starr.automation.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Utility class for collecting framework performance metrics.
+ * Counters and timers are aggregated in memory, logged at JVM shutdown and
+ * written to target/metrics/metrics-&lt;pid&gt;.properties.
+ */
+public class MetricsUtil {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsUtil.class);
+    private static final String METRICS_DIR = "target/metrics";
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    static {
+        ShutdownSequence.register(ShutdownSequence.Phase.EXPORT_METRICS, "metrics-report", MetricsUtil::report);
+    }
+
+    private MetricsUtil() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Increment a counter by one.
+     *
+     * @param name counter name
+     */
+    public static void increment(String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Add a value to a counter.
+     *
+     * @param name  counter name
+     * @param delta value to add
+     */
+    public static void add(String name, long delta) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Record a duration against a timer.
+     *
+     * @param name  timer name
+     * @param nanos duration in nanoseconds
+     */
+    public static void recordNanos(String name, long nanos) {
+        timers.computeIfAbsent(name, key -> new Timer()).record(Math.max(0, nanos));
+    }
+
+    /**
+     * Record a duration against a timer.
+     *
+     * @param name     timer name
+     * @param duration duration to record
+     */
+    public static void record(String name, Duration duration) {
+        recordNanos(name, duration.toNanos());
+    }
+
+    /**
+     * Get current counter value.
+     *
+     * @param name counter name
+     * @return counter value, 0 if never incremented
+     */
+    public static long getCount(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Get number of durations recorded against a timer.
+     *
+     * @param name timer name
+     * @return number of recordings
+     */
+    public static long getTimerCount(String name) {
+        Timer timer = timers.get(name);
+        return timer == null ? 0 : timer.count.sum();
+    }
+
+    /**
+     * Get total duration recorded against a timer.
+     *
+     * @param name timer name
+     * @return total duration
+     */
+    public static Duration getTotal(String name) {
+        Timer timer = timers.get(name);
+        return timer == null ? Duration.ZERO : Duration.ofNanos(timer.totalNanos.sum());
+    }
+
+    /**
+     * Build a sorted snapshot of all metrics.
+     *
+     * @return metric name to value, timers expanded into count/total/avg/max in milliseconds
+     */
+    public static Map<String, String> snapshot() {
+        Map<String, String> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, String.valueOf(counter.sum())));
+        timers.forEach((name, timer) -> {
+            long count = timer.count.sum();
+            long total = timer.totalNanos.sum();
+            values.put(name + ".count", String.valueOf(count));
+            values.put(name + ".total.ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(total)));
+            values.put(name + ".avg.ms", String.valueOf(count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(total / count)));
+            values.put(name + ".max.ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(timer.maxNanos.get())));
+        });
+        return values;
+    }
+
+    /**
+     * Log all metrics and write them to the metrics directory.
+     */
+    public static void report() {
+        Map<String, String> values = snapshot();
+        if (values.isEmpty()) {
+            return;
+        }
+        values.forEach((name, value) -> logger.info("metric {} = {}", name, value));
+
+        Path file = Paths.get(METRICS_DIR, "metrics-" + ProcessHandle.current().pid() + ".properties");
+        try {
+            Files.createDirectories(file.getParent());
+            Properties properties = new Properties();
+            properties.putAll(values);
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Framework performance metrics");
+            }
+            logger.info("Metrics written to {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to write metrics to {}", file, e);
+        }
+    }
+
+    private static final class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.starr.automation.utils;
+
+import com.starr.automation.config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out each TOTP time step at most once per secret, because Salesforce rejects a code that was already used.
+ * Threads in one JVM claim steps lock-free with a compare-and-set on the last claimed step. When
+ * otp.ledger.shared is enabled, the claim is then reconciled with a per-secret file in otp.ledger.dir under a
+ * file lock, so surefire forks logging in as the same user do not reuse steps either. Ledger files are named
+ * by a hash of the secret and hold only the last claimed step number.
+ */
+public class OtpLedger {
+    private static final Logger logger = LoggerFactory.getLogger(OtpLedger.class);
+    private static final long STEP_MILLIS = TimeUnit.SECONDS.toMillis(OtpUtil.getTimeStep());
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private OtpLedger() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * A claimed time step.
+     *
+     * @param step             claimed TOTP step
+     * @param notBeforeMillis  epoch millis at which the step begins
+     */
+    public record Claim(long step, long notBeforeMillis) {
+    }
+
+    /**
+     * Claim the earliest step at or after a minimum that no other caller has claimed for this secret.
+     *
+     * @param secretKey the secret key in Base32 format
+     * @param minStep   earliest step the caller can use
+     * @return claimed step and the time it begins
+     */
+    public static Claim claim(String secretKey, long minStep) {
+        return claim(secretKey, minStep, ledgerDir());
+    }
+
+    /**
+     * Claim a step, reconciling it with the ledger files in a directory.
+     *
+     * @param secretKey the secret key in Base32 format
+     * @param minStep   earliest step the caller can use
+     * @param ledgerDir directory of shared ledger files, null to claim within this JVM only
+     * @return claimed step and the time it begins
+     */
+    static Claim claim(String secretKey, long minStep, Path ledgerDir) {
+        Entry entry = entries.computeIfAbsent(secretKey, Entry::new);
+        long step = entry.claimLocally(minStep);
+        if (ledgerDir != null) {
+            step = entry.reconcile(step, ledgerDir);
+        }
+        MetricsUtil.increment("otp.ledger.claims");
+        if (step > minStep) {
+            MetricsUtil.increment("otp.ledger.deferred");
+            logger.info("OTP step {} already used, next usable step begins in {} ms", minStep,
+                    Math.max(0, step * STEP_MILLIS - System.currentTimeMillis()));
+        }
+        return new Claim(step, step * STEP_MILLIS);
+    }
+
+    /**
+     * Get the configured directory of shared ledger files.
+     *
+     * @return otp.ledger.dir, or null when otp.ledger.shared is disabled
+     */
+    static Path ledgerDir() {
+        return ConfigReader.isOtpLedgerShared() ? Paths.get(ConfigReader.getOtpLedgerDir()) : null;
+    }
+
+    /**
+     * Ledger state for one secret.
+     */
+    private static final class Entry {
+        private final AtomicLong lastStep = new AtomicLong(Long.MIN_VALUE);
+        private final String fileName;
+
+        private Entry(String secretKey) {
+            this.fileName = fileName(secretKey);
+        }
+
+        private long claimLocally(long minStep) {
+            return lastStep.updateAndGet(last -> Math.max(minStep, last == Long.MIN_VALUE ? minStep : last + 1));
+        }
+
+        /**
+         * Make a locally claimed step unique across forks, moving to a later step if another fork took it.
+         * One thread per JVM holds the file lock at a time; the JVM-wide lock would otherwise throw.
+         *
+         * @param step      locally claimed step
+         * @param ledgerDir directory of shared ledger files
+         * @return step claimed across forks
+         */
+        private synchronized long reconcile(long step, Path ledgerDir) {
+            Path file = ledgerDir.resolve(fileName);
+            try {
+                Files.createDirectories(file.getParent());
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    FileLock lock = channel.lock();
+                    try {
+                        long sharedLast = read(channel);
+                        if (sharedLast >= step) {
+                            // Re-claim locally past the shared step; the abandoned local step is never used
+                            long floor = sharedLast + 1;
+                            step = lastStep.updateAndGet(last -> Math.max(floor, last + 1));
+                        }
+                        write(channel, Math.max(step, sharedLast));
+                    } finally {
+                        lock.release();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to update OTP ledger " + file, e);
+            }
+            return step;
+        }
+
+        private static long read(FileChannel channel) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), 32));
+            channel.read(buffer, 0);
+            String value = new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII).trim();
+            try {
+                return value.isEmpty() ? Long.MIN_VALUE : Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring unreadable OTP ledger entry: {}", value);
+                return Long.MIN_VALUE;
+            }
+        }
+
+        private static void write(FileChannel channel, long step) throws IOException {
+            channel.truncate(0);
+            channel.write(ByteBuffer.wrap(Long.toString(step).getBytes(StandardCharsets.US_ASCII)), 0);
+            channel.force(false);
+        }
+
+        private static String fileName(String secretKey) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(secretKey.getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(digest, 0, 16) + ".step";
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.starr.automation.utils;
+
+import com.starr.automation.config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Picks the TOTP code to submit so that it is still accepted when the server checks it.
+ * The server is expected to check a code otp.submit.latency.ms after it is generated, give or take
+ * otp.submit.margin.ms, and to accept codes otp.skew.steps either side of its current step. The scheduler
+ * generates the code for a step that is accepted across that whole arrival window, which can be the next step
+ * when the window starts after a boundary. It waits only when the window straddles a boundary that the skew
+ * does not cover, and then just until the window clears it.
+ * Steps are claimed from the {@link OtpLedger}, so parallel logins for one user never submit the same code;
+ * a caller whose step was taken waits for the next unclaimed step to become acceptable.
+ * Submissions and waits are counted as otp.submissions, otp.window.waits and timed as otp.window.wait.
+ */
+public class OtpScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(OtpScheduler.class);
+    private static final long STEP_MILLIS = TimeUnit.SECONDS.toMillis(OtpUtil.getTimeStep());
+
+    static {
+        ShutdownSequence.register(ShutdownSequence.Phase.REPORT, "otp-scheduler-report", OtpScheduler::report);
+    }
+
+    private OtpScheduler() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Get the code to submit now, waiting first if no code can be trusted to survive until the server checks it.
+     *
+     * @param secretKey the secret key in Base32 format
+     * @return 6-digit OTP code
+     */
+    public static String nextCode(String secretKey) {
+        return nextCode(secretKey, ConfigReader.getOtpSubmitLatencyMillis(), ConfigReader.getOtpSubmitMarginMillis(),
+                ConfigReader.getOtpSkewSteps(), OtpLedger.ledgerDir(), Clock.systemUTC(), OtpScheduler::sleep);
+    }
+
+    /**
+     * Get the code to submit at the clock's current time, waiting with the given sleeper when needed.
+     *
+     * @param secretKey the secret key in Base32 format
+     * @param latency   expected time from generating a code to the server checking it, in milliseconds
+     * @param margin    uncertainty either side of the latency, in milliseconds
+     * @param skewSteps steps either side of the current one the server accepts
+     * @param ledgerDir directory of shared ledger files, null to claim steps within this JVM only
+     * @param clock     clock giving the current time
+     * @param sleeper   waits the given number of milliseconds
+     * @return OTP code
+     */
+    static String nextCode(String secretKey, long latency, long margin, int skewSteps, Path ledgerDir, Clock clock,
+                           LongConsumer sleeper) {
+        int skew = Math.max(0, skewSteps);
+        // A window as wide as a step always straddles a boundary; cap the margin so waiting can clear it
+        long cappedMargin = Math.min(Math.max(0, margin), STEP_MILLIS / 2 - 1);
+        int digits = OtpUtil.getCodeDigits();
+
+        long waitStart = System.nanoTime();
+        boolean waited = false;
+        long claimed = Long.MIN_VALUE;
+        while (true) {
+            long now = clock.millis();
+            long earliest = now + latency - cappedMargin;
+            long latest = now + latency + cappedMargin;
+            // A code for step k is accepted while the server clock is in [(k - skew) * T, (k + skew + 1) * T)
+            long lowestStep = Math.floorDiv(latest, STEP_MILLIS) - skew;
+            long highestStep = Math.floorDiv(earliest, STEP_MILLIS) + skew;
+            long delay;
+            if (lowestStep > highestStep) {
+                delay = (Math.floorDiv(earliest, STEP_MILLIS) + 1) * STEP_MILLIS - earliest;
+                logger.info("OTP would reach the server across a step boundary, waiting {} ms", delay);
+            } else {
+                if (claimed < lowestStep) {
+                    claimed = OtpLedger.claim(secretKey, lowestStep, ledgerDir).step();
+                }
+                if (claimed <= highestStep) {
+                    record(waited, System.nanoTime() - waitStart);
+                    return OtpUtil.formatCode(OtpUtil.generateCode(secretKey, claimed, digits), digits);
+                }
+                // The step is ours once the whole arrival window falls where the server accepts it
+                delay = (claimed - skew) * STEP_MILLIS - earliest;
+                logger.info("OTP step already used by another login, waiting {} ms for step {}", delay, claimed);
+            }
+            waited = true;
+            sleeper.accept(delay);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the next OTP step", e);
+        }
+    }
+
+    /**
+     * Get how many codes were handed out for submission.
+     *
+     * @return number of submissions
+     */
+    public static long getSubmissions() {
+        return MetricsUtil.getCount("otp.submissions");
+    }
+
+    /**
+     * Get how many submissions had to wait for the TOTP window.
+     *
+     * @return number of submissions that waited
+     */
+    public static long getWaits() {
+        return MetricsUtil.getCount("otp.window.waits");
+    }
+
+    /**
+     * Get total time submissions spent waiting for the TOTP window.
+     *
+     * @return total wait in milliseconds
+     */
+    public static long getWaitedMillis() {
+        return MetricsUtil.getTotal("otp.window.wait").toMillis();
+    }
+
+    private static void record(boolean waited, long nanos) {
+        MetricsUtil.increment("otp.submissions");
+        if (waited) {
+            MetricsUtil.increment("otp.window.waits");
+            MetricsUtil.recordNanos("otp.window.wait", nanos);
+        }
+    }
+
+    /**
+     * Log how often and how long logins waited on the TOTP window.
+     */
+    private static void report() {
+        if (getSubmissions() > 0) {
+            logger.info("OTP submissions: {}, waited on the TOTP window {} times for {} ms in total",
+                    getSubmissions(), getWaits(), getWaitedMillis());
+        }
+    }
+}
@@ -4,16 +4,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.SecretKeySpec;
-import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.util.Base64;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for generating Time-based One-Time Passwords (TOTP).
  * Implements RFC 6238 TOTP algorithm compatible with Google Authenticator.
+ * Decoded keys are cached per secret and each thread reuses its own initialized {@link Mac}, so generating a
+ * code for a known secret costs one HMAC and no intermediate allocations besides the returned string.
  */
 public class OtpUtil {
     private static final Logger logger = LoggerFactory.getLogger(OtpUtil.class);
@@ -23,21 +28,34 @@ public class OtpUtil {
     private static final int CODE_DIGITS = 6; // 6 digit code (standard)
     private static final String HMAC_ALGORITHM = "HmacSHA1";
 
+    // Base32 alphabet (RFC 4648) as a lookup table; -1 marks characters outside the alphabet
+    private static final byte[] BASE32_VALUES = new byte[128];
+
+    private static final Map<String, SecretKeySpec> keys = new ConcurrentHashMap<>();
+    private static final ThreadLocal<HmacEngine> engines = ThreadLocal.withInitial(HmacEngine::new);
+
+    static {
+        Arrays.fill(BASE32_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE32_VALUES[alphabet.charAt(i)] = (byte) i;
+            BASE32_VALUES[Character.toLowerCase(alphabet.charAt(i))] = (byte) i;
+        }
+    }
+
+    private OtpUtil() {
+        // Private constructor to prevent instantiation
+    }
+
     /**
      * Generate TOTP code from secret key.
      *
      * @param secretKey the secret key in Base32 format (from authenticator app setup)
      * @return 6-digit OTP code
+     * @throws IllegalArgumentException if the secret is not valid Base32
      */
     public static String generateOtp(String secretKey) {
-        try {
-            long timeCounter = Instant.now().getEpochSecond() / TIME_STEP;
-            byte[] decodedKey = decodeBase32(secretKey);
-            return generateTOTP(decodedKey, timeCounter, CODE_DIGITS);
-        } catch (Exception e) {
-            logger.error("Error generating OTP", e);
-            throw new RuntimeException("Failed to generate OTP", e);
-        }
+        return formatCode(generateCode(secretKey), CODE_DIGITS);
     }
 
     /**
@@ -47,16 +65,10 @@ public class OtpUtil {
      * @param timeStep time step in seconds
      * @param digits number of digits in the code
      * @return OTP code
+     * @throws IllegalArgumentException if the secret is not valid Base32
      */
     public static String generateOtp(String secretKey, int timeStep, int digits) {
-        try {
-            long timeCounter = Instant.now().getEpochSecond() / timeStep;
-            byte[] decodedKey = decodeBase32(secretKey);
-            return generateTOTP(decodedKey, timeCounter, digits);
-        } catch (Exception e) {
-            logger.error("Error generating OTP with custom parameters", e);
-            throw new RuntimeException("Failed to generate OTP", e);
-        }
+        return formatCode(generateCode(secretKey, Instant.now().getEpochSecond() / timeStep, digits), digits);
     }
 
     /**
@@ -65,86 +77,92 @@ public class OtpUtil {
      * @param secretKey the secret key in Base32 format
      * @param epochSeconds specific time in epoch seconds
      * @return OTP code for that specific time
+     * @throws IllegalArgumentException if the secret is not valid Base32
      */
     public static String generateOtpForTime(String secretKey, long epochSeconds) {
+        return formatCode(generateCode(secretKey, epochSeconds / TIME_STEP, CODE_DIGITS), CODE_DIGITS);
+    }
+
+    /**
+     * Generate the current 6-digit TOTP code as a number.
+     *
+     * @param secretKey the secret key in Base32 format
+     * @return OTP code, format with {@link #formatCode(int, int)} to keep leading zeros
+     * @throws IllegalArgumentException if the secret is not valid Base32
+     */
+    public static int generateCode(String secretKey) {
+        return generateCode(secretKey, Instant.now().getEpochSecond() / TIME_STEP, CODE_DIGITS);
+    }
+
+    /**
+     * Generate the TOTP code for a time step counter as a number (RFC 6238).
+     *
+     * @param secretKey   the secret key in Base32 format
+     * @param timeCounter time step counter (epoch seconds / time step)
+     * @param digits      number of digits in the code
+     * @return OTP code
+     * @throws IllegalArgumentException if the secret is not valid Base32
+     */
+    public static int generateCode(String secretKey, long timeCounter, int digits) {
+        SecretKeySpec key = keys.computeIfAbsent(secretKey, OtpUtil::decodeKey);
         try {
-            long timeCounter = epochSeconds / TIME_STEP;
-            byte[] decodedKey = decodeBase32(secretKey);
-            return generateTOTP(decodedKey, timeCounter, CODE_DIGITS);
-        } catch (Exception e) {
-            logger.error("Error generating OTP for specific time", e);
-            throw new RuntimeException("Failed to generate OTP", e);
+            return engines.get().generate(key, timeCounter, digits);
+        } catch (GeneralSecurityException e) {
+            logger.error("Error generating OTP", e);
+            throw new IllegalStateException("Failed to generate OTP", e);
         }
     }
 
     /**
-     * Core TOTP generation algorithm (RFC 6238).
+     * Format a code as a zero-padded string.
      *
-     * @param key secret key bytes
-     * @param timeCounter time counter value
-     * @param digits number of digits in the code
-     * @return TOTP code
+     * @param code   OTP code
+     * @param digits number of digits
+     * @return zero-padded code
      */
-    private static String generateTOTP(byte[] key, long timeCounter, int digits)
-            throws NoSuchAlgorithmException, InvalidKeyException {
-
-        // Convert counter to byte array
-        byte[] data = ByteBuffer.allocate(8).putLong(timeCounter).array();
-
-        // Generate HMAC-SHA1 hash
-        SecretKeySpec signKey = new SecretKeySpec(key, HMAC_ALGORITHM);
-        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
-        mac.init(signKey);
-        byte[] hash = mac.doFinal(data);
-
-        // Dynamic truncation (RFC 4226)
-        int offset = hash[hash.length - 1] & 0x0F;
-        int binary = ((hash[offset] & 0x7F) << 24)
-                | ((hash[offset + 1] & 0xFF) << 16)
-                | ((hash[offset + 2] & 0xFF) << 8)
-                | (hash[offset + 3] & 0xFF);
-
-        int otp = binary % DIGITS_POWER[digits];
-
-        // Pad with leading zeros
-        String result = String.valueOf(otp);
-        while (result.length() < digits) {
-            result = "0" + result;
+    public static String formatCode(int code, int digits) {
+        char[] chars = new char[digits];
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[i] = (char) ('0' + code % 10);
+            code /= 10;
         }
+        return new String(chars);
+    }
 
-        logger.debug("Generated OTP: {}", result);
-        return result;
+    private static SecretKeySpec decodeKey(String secretKey) {
+        return new SecretKeySpec(decodeBase32(secretKey), HMAC_ALGORITHM);
     }
 
     /**
      * Decode Base32 encoded secret key.
+     * Spaces and trailing '=' padding are ignored and lower case is accepted.
      *
      * @param base32 Base32 encoded string
      * @return decoded byte array
+     * @throws IllegalArgumentException if the string contains characters outside the Base32 alphabet or no key bits
      */
     private static byte[] decodeBase32(String base32) {
-        // Remove spaces and convert to uppercase
-        base32 = base32.replace(" ", "").toUpperCase();
-
-        // Base32 alphabet (RFC 4648)
-        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
-
-        // Calculate output length
-        int outputLength = base32.length() * 5 / 8;
-        byte[] result = new byte[outputLength];
+        int length = base32.length();
+        while (length > 0 && base32.charAt(length - 1) == '=') {
+            length--;
+        }
 
+        byte[] result = new byte[length * 5 / 8];
         int buffer = 0;
         int bitsLeft = 0;
         int index = 0;
 
-        for (char c : base32.toCharArray()) {
-            int value = alphabet.indexOf(c);
+        for (int i = 0; i < length; i++) {
+            char c = base32.charAt(i);
+            if (c == ' ') {
+                continue;
+            }
+            int value = c < BASE32_VALUES.length ? BASE32_VALUES[c] : -1;
             if (value < 0) {
-                continue; // Skip invalid characters
+                throw new IllegalArgumentException("OTP secret is not valid Base32: unexpected character at " + i);
             }
 
-            buffer <<= 5;
-            buffer |= value;
+            buffer = (buffer << 5) | value;
             bitsLeft += 5;
 
             if (bitsLeft >= 8) {
@@ -153,7 +171,10 @@ public class OtpUtil {
             }
         }
 
-        return result;
+        if (index == 0) {
+            throw new IllegalArgumentException("OTP secret is empty");
+        }
+        return index == result.length ? result : Arrays.copyOf(result, index);
     }
 
     /**
@@ -165,10 +186,38 @@ public class OtpUtil {
      * @return true if OTP is valid
      */
     public static boolean validateOtp(String secretKey, String otp) {
+        return validateOtp(secretKey, otp, 0);
+    }
+
+    /**
+     * Validate an OTP code allowing for clock skew between the code's generator and this machine.
+     *
+     * @param secretKey the secret key in Base32 format
+     * @param otp       the OTP code to validate
+     * @param skewSteps number of time steps either side of the current one to accept
+     * @return true if OTP is valid for the current step or within the skew
+     */
+    public static boolean validateOtp(String secretKey, String otp, int skewSteps) {
+        if (otp == null || otp.length() != CODE_DIGITS) {
+            return false;
+        }
+        int code = 0;
+        for (int i = 0; i < CODE_DIGITS; i++) {
+            char c = otp.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            code = code * 10 + (c - '0');
+        }
         try {
-            String generatedOtp = generateOtp(secretKey);
-            return generatedOtp.equals(otp);
-        } catch (Exception e) {
+            long currentStep = Instant.now().getEpochSecond() / TIME_STEP;
+            for (long step = currentStep - skewSteps; step <= currentStep + skewSteps; step++) {
+                if (generateCode(secretKey, step, CODE_DIGITS) == code) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (RuntimeException e) {
             logger.error("Error validating OTP", e);
             return false;
         }
@@ -192,5 +241,66 @@ public class OtpUtil {
     public static int getTimeStep() {
         return TIME_STEP;
     }
-}
 
+    /**
+     * Get the number of digits in generated OTP codes.
+     *
+     * @return code length
+     */
+    public static int getCodeDigits() {
+        return CODE_DIGITS;
+    }
+
+    /**
+     * Per-thread HMAC state: a Mac kept initialized with the last key used and reusable input and output buffers.
+     */
+    private static final class HmacEngine {
+        private final Mac mac;
+        private final byte[] counter = new byte[8];
+        private final byte[] hash;
+        private SecretKeySpec key;
+
+        private HmacEngine() {
+            try {
+                mac = Mac.getInstance(HMAC_ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+            }
+            hash = new byte[mac.getMacLength()];
+        }
+
+        /**
+         * Core TOTP generation algorithm (RFC 6238).
+         *
+         * @param secretKey   secret key
+         * @param timeCounter time counter value
+         * @param digits      number of digits in the code
+         * @return TOTP code
+         */
+        private int generate(SecretKeySpec secretKey, long timeCounter, int digits)
+                throws InvalidKeyException, ShortBufferException {
+            if (secretKey != key) {
+                mac.init(secretKey);
+                key = secretKey;
+            }
+
+            // Counter as big-endian bytes
+            for (int i = 7; i >= 0; i--) {
+                counter[i] = (byte) timeCounter;
+                timeCounter >>>= 8;
+            }
+            mac.update(counter);
+            // doFinal resets the Mac for reuse with the same key
+            mac.doFinal(hash, 0);
+
+            // Dynamic truncation (RFC 4226)
+            int offset = hash[hash.length - 1] & 0x0F;
+            int binary = ((hash[offset] & 0x7F) << 24)
+                    | ((hash[offset + 1] & 0xFF) << 16)
+                    | ((hash[offset + 2] & 0xFF) << 8)
+                    | (hash[offset + 3] & 0xFF);
+
+            return binary % DIGITS_POWER[digits];
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.starr.automation.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single JVM shutdown hook that runs framework cleanup and reporting in a fixed order.
+ * Separate shutdown hooks run concurrently, so services could be stopped while drivers were still quitting
+ * and profile clones deleted under running browsers. Tasks register under a {@link Phase}; phases run one
+ * after another, and tasks within a phase run in registration order.
+ */
+public class ShutdownSequence {
+    private static final Logger logger = LoggerFactory.getLogger(ShutdownSequence.class);
+    private static final Map<Phase, List<Task>> tasks = new EnumMap<>(Phase.class);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ShutdownSequence::run, "shutdown-sequence"));
+    }
+
+    /**
+     * Shutdown phases in the order they run.
+     */
+    public enum Phase {
+        /** Quit pooled, prelaunched and retiring browsers. */
+        QUIT_DRIVERS,
+        /** Stop shared driver services once no browser uses them. */
+        STOP_SERVICES,
+        /** Delete files browsers had open, such as profile clones. */
+        DELETE_FILES,
+        /** Log and export reports that read collected metrics. */
+        REPORT,
+        /** Write the metrics file after every other task has recorded its metrics. */
+        EXPORT_METRICS
+    }
+
+    private record Task(String name, Runnable action) {
+    }
+
+    private ShutdownSequence() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Register a task to run at JVM shutdown.
+     * Tasks registered after their phase has started are not run.
+     *
+     * @param phase  phase to run the task in
+     * @param name   task name used in logs
+     * @param action task to run
+     */
+    public static void register(Phase phase, String name, Runnable action) {
+        synchronized (tasks) {
+            tasks.computeIfAbsent(phase, key -> new ArrayList<>()).add(new Task(name, action));
+        }
+    }
+
+    /**
+     * Run every phase in order. A failing task is logged and does not stop later tasks.
+     */
+    private static void run() {
+        for (Phase phase : Phase.values()) {
+            List<Task> phaseTasks;
+            synchronized (tasks) {
+                phaseTasks = List.copyOf(tasks.getOrDefault(phase, List.of()));
+            }
+            for (Task task : phaseTasks) {
+                try {
+                    task.action().run();
+                } catch (RuntimeException e) {
+                    logger.warn("Shutdown task {} failed", task.name(), e);
+                }
+            }
+        }
+    }
+}
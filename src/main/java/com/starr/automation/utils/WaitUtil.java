@@ -1,19 +1,183 @@
 package com.starr.automation.utils;
 
+import com.starr.automation.config.ConfigReader;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for custom waits.
+ * Event-driven waits install a MutationObserver and load/navigation listeners in the page and return as soon as
+ * a JavaScript predicate holds, instead of sleeping or polling over the WebDriver wire. Each event-driven wait is
+ * recorded under a label; waits that replaced a fixed sleep or the old page-load poll are recorded together with
+ * the time they replaced, so the saving shows up in the metrics report, and all other waits are reported as added cost.
  */
 public class WaitUtil {
     private static final Logger logger = LoggerFactory.getLogger(WaitUtil.class);
+    private static final Json JSON = new Json();
+    // Kept below the default 30 s script timeout; longer waits re-install the observer
+    private static final long MAX_SCRIPT_MILLIS = 10_000;
+    private static final long POLL_INTERVAL_MILLIS = 500;
+    // Script errors raised when the document is replaced by a navigation (Chromium and Firefox wording)
+    private static final List<String> NAVIGATION_ERRORS = List.of(
+            "document unloaded",
+            "document was unloaded",
+            "execution context was destroyed",
+            "cannot find context with specified id",
+            "inspected target navigated or closed");
+    // Fixed sleeps that event-driven waits replaced, by wait label
+    private static final Map<String, Long> REPLACED_SLEEP_MILLIS = Map.of(
+            "login.navigate", 2000L,
+            "login.outcome", 3000L,
+            "otp.redirect", 3000L,
+            "users.frame", 2000L,
+            "users.content", 0L,
+            "setup.search", 1000L);
+    // Label of the page-load wait that replaced POLL_INTERVAL_MILLIS polling
+    private static final String POLLED_LABEL = "page.loaded";
+    // Locator and visibility helpers available to predicates
+    private static final String HELPERS = """
+            function find(using, value) {
+              switch (using) {
+                case 'css selector': return document.querySelector(value);
+                case 'xpath': return document.evaluate(value, document, null,
+                    XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+                case 'id': return document.getElementById(value);
+                case 'name': return document.getElementsByName(value)[0] || null;
+                case 'tag name': return document.getElementsByTagName(value)[0] || null;
+                case 'class name': return document.getElementsByClassName(value)[0] || null;
+                case 'link text':
+                case 'partial link text':
+                  var links = document.getElementsByTagName('a');
+                  for (var i = 0; i < links.length; i++) {
+                    var text = (links[i].innerText || links[i].textContent || '').trim();
+                    if (using === 'link text' ? text === value : text.indexOf(value) >= 0) return links[i];
+                  }
+                  return null;
+              }
+              return null;
+            }
+            function visible(el) {
+              return !!el && (el.offsetWidth > 0 || el.offsetHeight > 0 || el.getClientRects().length > 0)
+                  && window.getComputedStyle(el).visibility !== 'hidden';
+            }
+            """;
+    // Scripts run after the predicate is spliced in as predicate(find, visible); no eval, so page CSP cannot block it
+    private static final String EVALUATE_SCRIPT = """
+            var result = predicate(find, visible);
+            return result ? result : null;
+            """;
+    private static final String OBSERVER_SCRIPT = """
+            var budget = arguments[0];
+            var skipInitialCheck = arguments[1];
+            var done = arguments[arguments.length - 1];
+            var finished = false, observer, timer, poll;
+            function finish(value) {
+              if (finished) return;
+              finished = true;
+              if (observer) observer.disconnect();
+              clearTimeout(timer);
+              clearInterval(poll);
+              window.removeEventListener('load', check, true);
+              window.removeEventListener('popstate', check);
+              window.removeEventListener('hashchange', check);
+              document.removeEventListener('readystatechange', check);
+              done(value);
+            }
+            function test() {
+              var result = predicate(find, visible);
+              if (result) finish(result);
+            }
+            function check() {
+              // Later checks can run mid-render or mid-navigation, when the predicate may fail transiently
+              try {
+                test();
+              } catch (e) {}
+            }
+            if (!skipInitialCheck) {
+              // Errors on the first evaluation are bugs in the predicate and fail the wait
+              test();
+              if (finished) return;
+              // Safety net for state changes that produce no DOM event, e.g. history.pushState
+              poll = setInterval(check, 250);
+            }
+            observer = new MutationObserver(check);
+            observer.observe(document, { childList: true, subtree: true, attributes: true });
+            window.addEventListener('load', check, true);
+            window.addEventListener('popstate', check);
+            window.addEventListener('hashchange', check);
+            document.addEventListener('readystatechange', check);
+            timer = setTimeout(function () { finish(false); }, budget);
+            """;
+
+    // Installs XHR/fetch/DOM activity tracking once per document, then checks Aura, network, spinners and quiet time
+    private static final String LIGHTNING_IDLE_PREDICATE = """
+            var state = window.__sfAutomationIdle;
+            if (!state) {
+              state = window.__sfAutomationIdle = { inflight: 0, lastActivity: Date.now() };
+              var touch = function (delta) {
+                state.inflight = Math.max(0, state.inflight + delta);
+                state.lastActivity = Date.now();
+              };
+              var send = XMLHttpRequest.prototype.send;
+              XMLHttpRequest.prototype.send = function () {
+                touch(1);
+                var settled = false;
+                this.addEventListener('loadend', function () {
+                  if (!settled) { settled = true; touch(-1); }
+                });
+                try {
+                  return send.apply(this, arguments);
+                } catch (e) {
+                  if (!settled) { settled = true; touch(-1); }
+                  throw e;
+                }
+              };
+              if (window.fetch) {
+                var originalFetch = window.fetch;
+                window.fetch = function () {
+                  touch(1);
+                  try {
+                    return originalFetch.apply(this, arguments).finally(function () { touch(-1); });
+                  } catch (e) {
+                    touch(-1);
+                    throw e;
+                  }
+                };
+              }
+              new MutationObserver(function () { state.lastActivity = Date.now(); })
+                  .observe(document, { childList: true, subtree: true });
+            }
+            if (document.readyState !== 'complete' || state.inflight > 0) return false;
+            try {
+              var aura = window.$A && $A.clientService;
+              if (aura && typeof aura.inFlightXHRs === 'function' && aura.inFlightXHRs() > 0) return false;
+            } catch (e) {}
+            var spinners = document.querySelectorAll(
+                '.slds-spinner_container, .slds-spinner, lightning-spinner, .forceComponentSpinner, .loadingSpinner');
+            for (var i = 0; i < spinners.length; i++) {
+              if (visible(spinners[i])) return false;
+            }
+            return Date.now() - state.lastActivity >= %d;
+            """;
+
+    static {
+        ShutdownSequence.register(ShutdownSequence.Phase.REPORT, "wait-report", WaitUtil::reportSavings);
+    }
 
     private WaitUtil() {
         // Private constructor to prevent instantiation
@@ -77,5 +241,245 @@ public class WaitUtil {
         wait.until(angularLoad);
         logger.debug("Angular loaded successfully");
     }
-}
 
+    /**
+     * Wait until Salesforce Lightning has settled: the document is complete, no Aura actions or XHR/fetch
+     * requests are in flight, no spinner is visible, and the DOM has been quiet for the configured period.
+     * Every check runs as one in-browser evaluation. Also works on non-Lightning pages, where only the
+     * network, spinner and quiet-period checks apply.
+     *
+     * @param driver  WebDriver instance
+     * @param timeout maximum time to wait
+     * @throws TimeoutException if the page does not become idle within the timeout
+     */
+    public static void waitForLightningIdle(WebDriver driver, Duration timeout) {
+        waitForCondition(driver, "lightning.idle",
+                String.format(LIGHTNING_IDLE_PREDICATE, ConfigReader.getLightningQuietMillis()), timeout);
+    }
+
+    /**
+     * Wait until a JavaScript predicate holds in the current browsing context.
+     * The predicate is a function body that may call find(using, value) and visible(element) and returns a truthy
+     * value when the condition is met; that value is returned. Navigations while waiting are tolerated.
+     *
+     * @param driver    WebDriver instance
+     * @param label     name used for metrics
+     * @param predicate JavaScript function body
+     * @param timeout   maximum time to wait
+     * @return value returned by the predicate
+     * @throws TimeoutException if the predicate does not hold within the timeout
+     */
+    public static Object waitForCondition(WebDriver driver, String label, String predicate, Duration timeout) {
+        return awaitScript(driver, label, predicate, timeout, false);
+    }
+
+    /**
+     * Evaluate a predicate once in the current browsing context, in a single round trip.
+     *
+     * @param driver    WebDriver instance
+     * @param predicate JavaScript function body, see {@link #waitForCondition}
+     * @return value returned by the predicate, null if it was falsy
+     */
+    public static Object evaluate(WebDriver driver, String predicate) {
+        return ((JavascriptExecutor) driver).executeScript(withPredicate(EVALUATE_SCRIPT, predicate));
+    }
+
+    /**
+     * Wait until an element is present in the DOM of the current browsing context.
+     *
+     * @param driver  WebDriver instance
+     * @param label   name used for metrics
+     * @param locator element locator
+     * @param timeout maximum time to wait
+     * @throws TimeoutException if the element does not appear within the timeout
+     */
+    public static void waitForPresence(WebDriver driver, String label, By locator, Duration timeout) {
+        waitForCondition(driver, label, "return " + presenceOf(locator) + ";", timeout);
+    }
+
+    /**
+     * Wait until the page URL differs from a given URL.
+     *
+     * @param driver  WebDriver instance
+     * @param label   name used for metrics
+     * @param fromUrl URL to navigate away from
+     * @param timeout maximum time to wait
+     * @return new URL
+     * @throws TimeoutException if the URL does not change within the timeout
+     */
+    public static String waitForUrlChange(WebDriver driver, String label, String fromUrl, Duration timeout) {
+        return (String) waitForCondition(driver, label,
+                "return location.href !== " + JSON.toJson(fromUrl) + " ? location.href : null;", timeout);
+    }
+
+    /**
+     * Wait until the page URL contains any of the given fragments.
+     *
+     * @param driver    WebDriver instance
+     * @param label     name used for metrics
+     * @param timeout   maximum time to wait
+     * @param fragments URL fragments to look for
+     * @return first fragment found in the URL
+     * @throws TimeoutException if no fragment appears in the URL within the timeout
+     */
+    public static String waitForUrlContaining(WebDriver driver, String label, Duration timeout, String... fragments) {
+        return (String) waitForCondition(driver, label,
+                "var fragments = " + JSON.toJson(fragments) + ";"
+                        + "for (var i = 0; i < fragments.length; i++) {"
+                        + "  if (location.href.indexOf(fragments[i]) >= 0) return fragments[i];"
+                        + "}"
+                        + "return null;", timeout);
+    }
+
+    /**
+     * Block until the DOM of the current browsing context changes or the page navigates.
+     * Used to re-check conditions that can only be evaluated from Java without a fixed polling interval.
+     *
+     * @param driver  WebDriver instance
+     * @param timeout maximum time to wait
+     * @return true if a change was observed, false if the timeout elapsed
+     */
+    public static boolean waitForDomChange(WebDriver driver, Duration timeout) {
+        try {
+            awaitScript(driver, null, "return true;", timeout, true);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Build a JavaScript expression that is true when an element matching the locator is present.
+     *
+     * @param locator element locator
+     * @return JavaScript expression for use in a predicate
+     */
+    public static String presenceOf(By locator) {
+        return "(" + elementOf(locator) + " !== null)";
+    }
+
+    /**
+     * Build a JavaScript expression that is true when an element matching the locator is visible.
+     *
+     * @param locator element locator
+     * @return JavaScript expression for use in a predicate
+     */
+    public static String visibilityOf(By locator) {
+        return "visible(" + elementOf(locator) + ")";
+    }
+
+    /**
+     * Build a JavaScript expression that evaluates to the first element matching the locator, or null.
+     *
+     * @param locator element locator
+     * @return JavaScript expression for use in a predicate
+     */
+    public static String elementOf(By locator) {
+        if (!(locator instanceof By.Remotable remotable)) {
+            throw new IllegalArgumentException("Locator cannot be evaluated in the page: " + locator);
+        }
+        By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+        return "find(" + JSON.toJson(parameters.using()) + ", " + JSON.toJson(parameters.value()) + ")";
+    }
+
+    private static Object awaitScript(WebDriver driver, String label, String predicate, Duration timeout,
+                                      boolean skipInitialCheck) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        String script = withPredicate(OBSERVER_SCRIPT, predicate);
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        while (true) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                throw new TimeoutException(String.format("Condition '%s' not met within %d ms",
+                        label == null ? predicate : label, timeout.toMillis()));
+            }
+            try {
+                Object result = js.executeAsyncScript(script,
+                        Math.min(remainingMillis, MAX_SCRIPT_MILLIS), skipInitialCheck);
+                if (result != null && !Boolean.FALSE.equals(result)) {
+                    recordWait(label, System.nanoTime() - start);
+                    return result;
+                }
+            } catch (ScriptTimeoutException e) {
+                logger.debug("Wait script timed out, re-installing observer");
+            } catch (JavascriptException e) {
+                if (!isNavigation(e)) {
+                    throw e;
+                }
+                logger.debug("Page changed while waiting: {}", e.getMessage());
+                if (skipInitialCheck) {
+                    return Boolean.TRUE;
+                }
+            }
+        }
+    }
+
+    /**
+     * Build a script that defines the helpers and the predicate as predicate(find, visible), then runs the body.
+     *
+     * @param body      script body calling predicate
+     * @param predicate JavaScript function body, see {@link #waitForCondition}
+     * @return script source
+     */
+    private static String withPredicate(String body, String predicate) {
+        return HELPERS + "function predicate(find, visible) {\n" + predicate + "\n}\n" + body;
+    }
+
+    /**
+     * Check whether a script error was caused by the document being replaced while the script was running,
+     * rather than by the script itself.
+     *
+     * @param e script error
+     * @return true if the page navigated or unloaded
+     */
+    static boolean isNavigation(JavascriptException e) {
+        String message = e.getMessage() == null ? "" : e.getMessage().toLowerCase(Locale.ROOT);
+        return NAVIGATION_ERRORS.stream().anyMatch(message::contains);
+    }
+
+    /**
+     * Record an event-driven wait. Waits that replaced a fixed sleep or the 500 ms page-load poll are also credited
+     * with the time that sleep or poll would have taken; waits that replaced nothing are recorded as added cost.
+     *
+     * @param label wait label, null to skip recording
+     * @param nanos time actually waited
+     */
+    public static void recordWait(String label, long nanos) {
+        if (label == null) {
+            return;
+        }
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        MetricsUtil.recordNanos("wait." + label, nanos);
+        MetricsUtil.add("wait.total.ms", waitedMillis);
+        Long replacedMillis = REPLACED_SLEEP_MILLIS.get(label);
+        if (replacedMillis == null && POLLED_LABEL.equals(label)) {
+            // Polling checked every POLL_INTERVAL_MILLIS, so it noticed a change only at the next tick
+            replacedMillis = (waitedMillis / POLL_INTERVAL_MILLIS + 1) * POLL_INTERVAL_MILLIS;
+        }
+        if (replacedMillis == null) {
+            MetricsUtil.add("wait.added.total.ms", waitedMillis);
+            return;
+        }
+        MetricsUtil.add("wait." + label + ".replaced.ms", replacedMillis);
+        MetricsUtil.add("wait.replacing.total.ms", waitedMillis);
+        MetricsUtil.add("wait.replaced.total.ms", replacedMillis);
+    }
+
+    /**
+     * Log how much wall time event-driven waits took compared to the sleeps and polling they replaced,
+     * and how much time went to waits that did not replace anything.
+     */
+    private static void reportSavings() {
+        long replacing = MetricsUtil.getCount("wait.replacing.total.ms");
+        long replaced = MetricsUtil.getCount("wait.replaced.total.ms");
+        long added = MetricsUtil.getCount("wait.added.total.ms");
+        if (replaced > 0) {
+            logger.info("Event-driven waits took {} ms where fixed sleeps and polling would have taken {} ms (saved {} ms)",
+                    replacing, replaced, replaced - replacing);
+        }
+        if (added > 0) {
+            logger.info("Waits that replaced no sleep or polling added {} ms", added);
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.starr.automation.base;
 
 import com.starr.automation.config.ConfigReader;
+import com.starr.automation.driver.BrowserProfileReport;
 import com.starr.automation.driver.DriverFactory;
 import com.starr.automation.pages.BasePage;
+import com.starr.automation.pages.Destination;
+import com.starr.automation.pages.NavigationPlanner;
+import com.starr.automation.pages.Navigator;
+import com.starr.automation.session.SessionManager;
+import com.starr.automation.session.TestUser;
+import com.starr.automation.session.UserPool;
 import com.starr.automation.utils.ScreenshotUtil;
+import com.starr.automation.utils.WaitUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestInfo;
@@ -13,14 +21,20 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Base test class that all test classes should extend.
- * Handles WebDriver setup and teardown.
+ * Handles WebDriver setup and teardown, starting each test on the page declared with {@link StartPage}.
+ * Tests that log in lease a user from the {@link UserPool}, which is returned when the test ends.
  */
 public abstract class BaseTest {
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
     protected WebDriver driver;
+    private TestUser testUser;
+    private String testUserRole;
 
     /**
      * Setup method executed before each test.
@@ -33,8 +47,38 @@ public abstract class BaseTest {
         logger.info("Starting test: {}", testInfo.getDisplayName());
         logger.info("========================================");
 
+        testUserRole = testInfo.getTestMethod()
+                .map(method -> method.getAnnotation(TestUserRole.class))
+                .or(() -> testInfo.getTestClass().map(testClass -> testClass.getAnnotation(TestUserRole.class)))
+                .map(TestUserRole::value)
+                .orElse(null);
         driver = DriverFactory.getDriver();
-        driver.get(ConfigReader.getBaseUrl());
+        openStartPage(testInfo);
+    }
+
+    /**
+     * Take the driver to the test's declared start page, the login page by default.
+     *
+     * @param testInfo JUnit test information
+     */
+    private void openStartPage(TestInfo testInfo) {
+        StartPage startPage = testInfo.getTestMethod()
+                .map(method -> method.getAnnotation(StartPage.class))
+                .or(() -> testInfo.getTestClass().map(testClass -> testClass.getAnnotation(StartPage.class)))
+                .orElse(null);
+
+        if (startPage == null || startPage.value() == Destination.LOGIN) {
+            if (NavigationPlanner.load(driver, ConfigReader.getBaseUrl()) == NavigationPlanner.Result.LOADED) {
+                BrowserProfileReport.recordPageLoad(driver, "login");
+            }
+            return;
+        }
+
+        Map<String, String> params = Arrays.stream(startPage.params())
+                .map(param -> param.split("=", 2))
+                .collect(Collectors.toMap(pair -> pair[0].trim(), pair -> pair.length > 1 ? pair[1].trim() : ""));
+        loginAsTestUser();
+        Navigator.navigate(driver, startPage.value(), params);
     }
 
     /**
@@ -48,12 +92,20 @@ public abstract class BaseTest {
             logger.info("Test {} completed", testInfo.getDisplayName());
         }
 
-        // Capture screenshot on test failure
-        if (testInfo.getTags().contains("failed")) {
-            ScreenshotUtil.captureScreenshotAsBytes(driver);
-        }
+        try {
+            // Capture screenshot on test failure
+            if (testInfo.getTags().contains("failed")) {
+                ScreenshotUtil.captureScreenshotAsBytes(driver);
+            }
 
-        DriverFactory.quitDriver();
+            DriverFactory.quitDriver();
+        } finally {
+            // Return the user even when the driver cannot be quit, so other tests do not wait on it
+            if (testUser != null) {
+                UserPool.shared().release(testUser);
+                testUser = null;
+            }
+        }
         logger.info("========================================");
     }
 
@@ -67,7 +119,50 @@ public abstract class BaseTest {
     }
 
     /**
-     * Wait for a page to load by polling its isLoaded() method.
+     * Get the test user leased to this test, leasing one from the pool on first use.
+     * The user has the role declared with {@link TestUserRole}, if any, and is held exclusively until the test ends.
+     *
+     * @return leased test user
+     */
+    protected TestUser getTestUser() {
+        if (testUser == null) {
+            testUser = UserPool.shared().lease(testUserRole);
+        }
+        return testUser;
+    }
+
+    /**
+     * Log in as this test's leased user and land on the Lightning home page.
+     * Restores a cached session when available instead of repeating the login and verification flow.
+     */
+    protected void loginAsTestUser() {
+        SessionManager.startAuthenticated(driver, getTestUser());
+    }
+
+    /**
+     * Wait until the browser navigates away from a URL.
+     *
+     * @param label   name used for wait metrics
+     * @param fromUrl URL to navigate away from
+     * @return new URL
+     */
+    protected String waitForUrlChange(String label, String fromUrl) {
+        return WaitUtil.waitForUrlChange(driver, label, fromUrl, Duration.ofSeconds(ConfigReader.getExplicitWait()));
+    }
+
+    /**
+     * Wait until the browser URL contains any of the given fragments.
+     *
+     * @param label     name used for wait metrics
+     * @param fragments URL fragments to look for
+     * @return first fragment found in the URL
+     */
+    protected String waitForUrlContaining(String label, String... fragments) {
+        return WaitUtil.waitForUrlContaining(driver, label, Duration.ofSeconds(ConfigReader.getExplicitWait()), fragments);
+    }
+
+    /**
+     * Wait for a page to load by re-checking its isLoaded() method whenever the DOM changes.
      *
      * @param page page object that extends BasePage
      * @param timeoutSeconds maximum time to wait in seconds
@@ -84,6 +179,7 @@ public abstract class BaseTest {
             try {
                 if (page.isLoaded()) {
                     logger.info("Page loaded successfully after {} attempts", attemptCount);
+                    WaitUtil.recordWait("page.loaded", Duration.between(startTime, Instant.now()).toNanos());
                     return;
                 }
                 logger.debug("Page not loaded yet (attempt {}), current URL: {}",
@@ -93,11 +189,9 @@ public abstract class BaseTest {
                     attemptCount, e.getMessage());
             }
 
-            try {
-                Thread.sleep(500); // Poll every 500ms
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Wait interrupted", e);
+            Duration remaining = timeout.minus(Duration.between(startTime, Instant.now()));
+            if (!remaining.isNegative()) {
+                WaitUtil.waitForDomChange(driver, remaining);
             }
         }
 
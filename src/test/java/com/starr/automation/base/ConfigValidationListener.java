@@ -0,0 +1,25 @@
+package com.starr.automation.base;
+
+import com.starr.automation.config.ConfigReader;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+/**
+ * Loads configuration when the JUnit launcher session opens, so invalid values abort the whole run with the
+ * full validation message instead of failing every test with "Could not initialize class ConfigReader".
+ * Registered through META-INF/services/org.junit.platform.launcher.LauncherSessionListener.
+ */
+public class ConfigValidationListener implements LauncherSessionListener {
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        try {
+            ConfigReader.snapshot();
+        } catch (ExceptionInInitializerError e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
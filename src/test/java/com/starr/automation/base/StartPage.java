@@ -0,0 +1,35 @@
+package com.starr.automation.base;
+
+import com.starr.automation.pages.Destination;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares where a test starts, so {@link BaseTest} sets the driver up there directly.
+ * Tests without the annotation start on the login page. Any other destination starts from an authenticated
+ * session (see {@link BaseTest#loginAsTestUser()}) and waits until the destination is ready.
+ * A method annotation overrides the class annotation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+public @interface StartPage {
+
+    /**
+     * Destination the test starts on.
+     *
+     * @return start destination
+     */
+    Destination value();
+
+    /**
+     * Values for the destination's URL template as "name=value" pairs, e.g. {"object=Account"}.
+     *
+     * @return template parameters
+     */
+    String[] params() default {};
+}
@@ -0,0 +1,25 @@
+package com.starr.automation.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the role of the user a test logs in as, so {@link BaseTest} leases a matching user from the
+ * {@link com.starr.automation.session.UserPool}. Tests without the annotation accept a user of any role.
+ * A method annotation overrides the class annotation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+public @interface TestUserRole {
+
+    /**
+     * Role the leased user must have, matched case-insensitively against test.user.N.role.
+     *
+     * @return user role
+     */
+    String value();
+}
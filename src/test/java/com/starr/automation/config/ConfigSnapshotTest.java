@@ -0,0 +1,128 @@
+package com.starr.automation.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for configuration layering and validation in {@link ConfigSnapshot}.
+ * These tests need no browser or org.
+ */
+public class ConfigSnapshotTest {
+    private final Map<String, String> values = new HashMap<>();
+    private final Map<String, String> sources = new HashMap<>();
+
+    @Test
+    public void testEnvironmentOverridesFileAndSystemPropertyOverridesEnvironment() {
+        fromFile("explicit.wait", "5");
+        fromFile("implicit.wait", "3");
+        fromFile("headless", "false");
+
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("explicit.wait", "9");
+        ConfigSnapshot.applyOverrides(values, sources,
+                Map.of("SF_EXPLICIT_WAIT", "7", "SF_IMPLICIT_WAIT", "4"), systemProperties);
+        ConfigSnapshot snapshot = ConfigSnapshot.parse(values, sources);
+
+        assertEquals(Duration.ofSeconds(9), snapshot.waits().explicitWait(), "System property should win");
+        assertEquals("system property", sources.get("explicit.wait"));
+        assertEquals(4, snapshot.waits().implicitWait(), "Environment variable should override the file");
+        assertEquals("environment variable SF_IMPLICIT_WAIT", sources.get("implicit.wait"));
+        assertFalse(snapshot.browser().headless(), "File value should apply when nothing overrides it");
+    }
+
+    @Test
+    public void testEnvironmentVariableNamesMapToKeys() {
+        ConfigSnapshot.applyOverrides(values, sources, Map.of(
+                "SF_DRIVER_POOL_SIZE", "6",
+                "SF_BASE_URL", "https://acme.my.salesforce.com",
+                "SF_", "ignored",
+                "PATH", "/usr/bin"), new Properties());
+
+        assertEquals("6", values.get("driver.pool.size"));
+        assertEquals("https://acme.my.salesforce.com", values.get("base.url"));
+        assertEquals(2, values.size(), "Only SF_ variables with a name should be mapped");
+        assertEquals(6, ConfigSnapshot.parse(values, sources).driverPool().size());
+    }
+
+    @Test
+    public void testSystemPropertiesOnlyOverrideKnownKeys() {
+        fromFile("custom.key", "file");
+
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("custom.key", "override");
+        systemProperties.setProperty("test.user.2.email", "second@example.com");
+        systemProperties.setProperty("driver.pool.size.edge", "2");
+        systemProperties.setProperty("user.home", "/home/runner");
+        systemProperties.setProperty("java.version", "21");
+        ConfigSnapshot.applyOverrides(values, sources, Map.of(), systemProperties);
+
+        assertEquals("override", values.get("custom.key"), "A key set in a file should be overridable");
+        assertEquals("second@example.com", values.get("test.user.2.email"));
+        assertEquals("2", values.get("driver.pool.size.edge"));
+        assertFalse(values.containsKey("user.home"), "JVM properties should not be copied");
+        assertFalse(values.containsKey("java.version"), "JVM properties should not be copied");
+    }
+
+    @Test
+    public void testOtpSecretIsMaskedInToString() {
+        fromFile("test.otp.secret", "JBSWY3DPEHPK3PXP");
+
+        String otp = ConfigSnapshot.parse(values, sources).otp().toString();
+
+        assertFalse(otp.contains("JBSWY3DPEHPK3PXP"), otp);
+    }
+
+    @Test
+    public void testEnumValuesAreCaseInsensitive() {
+        fromFile("browser", "Firefox");
+        fromFile("browser.window.size", "1280, 800");
+
+        ConfigSnapshot snapshot = ConfigSnapshot.parse(values, sources);
+
+        assertEquals("Firefox", snapshot.browser().name());
+        assertEquals("1280,800", snapshot.browser().windowSize());
+    }
+
+    @Test
+    public void testInvalidValuesAreReportedTogether() {
+        fromFile("explicit.wait", "soon");
+        fromFile("headless", "yes");
+        fromFile("browser", "chrom");
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("browser.window.size", "1920x1080");
+        ConfigSnapshot.applyOverrides(values, sources, Map.of(), systemProperties);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> ConfigSnapshot.parse(values, sources));
+
+        String message = e.getMessage();
+        assertTrue(message.startsWith("Invalid configuration:"), message);
+        assertTrue(message.contains("explicit.wait=soon (config.properties) must be a whole number of at least 1"),
+                message);
+        assertTrue(message.contains("headless=yes (config.properties) must be true or false"), message);
+        assertTrue(message.contains("browser=chrom (config.properties) must be one of [chrome, firefox, edge]"),
+                message);
+        assertTrue(message.contains("browser.window.size=1920x1080 (system property) must be width,height in pixels"),
+                message);
+    }
+
+    @Test
+    public void testDefaultsApplyWhenNothingIsSet() {
+        ConfigSnapshot snapshot = ConfigSnapshot.parse(values, sources);
+
+        assertEquals("chrome", snapshot.browser().name());
+        assertEquals(Duration.ofSeconds(20), snapshot.waits().explicitWait());
+        assertFalse(snapshot.parallel().throttleEnabled());
+    }
+
+    private void fromFile(String key, String value) {
+        values.put(key, value);
+        sources.put(key, "config.properties");
+    }
+}
@@ -0,0 +1,50 @@
+package com.starr.automation.pages;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for when {@link NavigationPlanner} routes inside Lightning instead of loading the page.
+ * These tests need no browser or org.
+ */
+public class NavigationPlannerTest {
+    private static final String BASE_URL = "https://acme.my.salesforce.com";
+    private static final String HOME = "https://acme.lightning.force.com/lightning/page/home";
+
+    @Test
+    public void testRoutesFromLightningHostToDeepLinkBuiltFromMyDomain() {
+        assertTrue(NavigationPlanner.canRouteInApp(HOME, BASE_URL + "/lightning/setup/ManageUsers/home"),
+                "my.salesforce.com and lightning.force.com hosts of one org should count as the same app");
+    }
+
+    @Test
+    public void testRoutesWithinSandboxOrg() {
+        assertTrue(NavigationPlanner.canRouteInApp(
+                "https://acme--dev.sandbox.lightning.force.com/lightning/page/home",
+                "https://acme--dev.sandbox.my.salesforce.com/lightning/o/Account/list"));
+    }
+
+    @Test
+    public void testLoadsPageForAnotherOrg() {
+        assertFalse(NavigationPlanner.canRouteInApp(HOME,
+                "https://other.my.salesforce.com/lightning/setup/ManageUsers/home"));
+        assertFalse(NavigationPlanner.canRouteInApp(HOME,
+                "https://acme--dev.sandbox.my.salesforce.com/lightning/setup/ManageUsers/home"));
+    }
+
+    @Test
+    public void testLoadsPageOutsideLightning() {
+        assertFalse(NavigationPlanner.canRouteInApp(HOME, BASE_URL), "Login page is not a Lightning route");
+        assertFalse(NavigationPlanner.canRouteInApp("https://acme.my.salesforce.com/secur/frontdoor.jsp",
+                BASE_URL + "/lightning/page/home"), "Current page is not a Lightning page");
+        assertFalse(NavigationPlanner.canRouteInApp(null, BASE_URL + "/lightning/page/home"));
+    }
+
+    @Test
+    public void testOrgOfLeavesOtherHostsUnchanged() {
+        assertEquals("acme", NavigationPlanner.orgOf("ACME.my.salesforce.com"));
+        assertEquals("acme", NavigationPlanner.orgOf("acme.lightning.force.com"));
+        assertEquals("www.example.com", NavigationPlanner.orgOf("www.example.com"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.starr.automation.session;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for {@link SessionSnapshot} serialization and how {@link SessionStore} writes it to disk.
+ * These tests need no browser or org.
+ */
+public class SessionSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testSnapshotSurvivesJsonRoundTrip() {
+        SessionSnapshot snapshot = sampleSnapshot();
+
+        Json json = new Json();
+        Map<String, Object> map = json.toType(json.toJson(snapshot.toMap()), Json.MAP_TYPE);
+        SessionSnapshot restored = SessionSnapshot.fromMap(map);
+
+        assertEquals(snapshot.username(), restored.username());
+        assertEquals(snapshot.homeUrl(), restored.homeUrl());
+        assertEquals(snapshot.capturedAtMillis(), restored.capturedAtMillis());
+        assertEquals(snapshot.origins().size(), restored.origins().size());
+        for (int i = 0; i < snapshot.origins().size(); i++) {
+            SessionSnapshot.OriginState expected = snapshot.origins().get(i);
+            SessionSnapshot.OriginState actual = restored.origins().get(i);
+            assertEquals(expected.origin(), actual.origin());
+            assertEquals(expected.localStorage(), actual.localStorage());
+            assertEquals(expected.sessionStorage(), actual.sessionStorage());
+            assertEquals(expected.cookies().size(), actual.cookies().size());
+            for (int j = 0; j < expected.cookies().size(); j++) {
+                // Cookie.equals only compares name and value
+                assertEquals(expected.cookies().get(j).toJson(), actual.cookies().get(j).toJson());
+            }
+        }
+    }
+
+    @Test
+    public void testSavedSnapshotLoadsBack() {
+        SessionStore store = new SessionStore(directory, Duration.ofHours(1));
+        SessionSnapshot snapshot = sampleSnapshot();
+
+        store.save(snapshot);
+        SessionSnapshot loaded = store.load(snapshot.username());
+
+        assertNotNull(loaded, "Saved snapshot should load back");
+        assertEquals(snapshot.homeUrl(), loaded.homeUrl());
+        assertEquals(snapshot.origins().get(0).cookies().get(0).getValue(),
+                loaded.origins().get(0).cookies().get(0).getValue());
+    }
+
+    @Test
+    public void testSnapshotFileIsOwnerOnly() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"),
+                "File system does not support POSIX permissions");
+        SessionStore store = new SessionStore(directory, Duration.ofHours(1));
+
+        store.save(sampleSnapshot());
+
+        try (Stream<Path> files = Files.list(directory)) {
+            Path file = files.filter(path -> path.toString().endsWith(".json")).findFirst().orElseThrow();
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+        }
+    }
+
+    private static SessionSnapshot sampleSnapshot() {
+        Cookie sid = new Cookie("sid", "00D!session", ".my.salesforce.com", "/",
+                new Date(4_102_444_800_000L), true, true, "None");
+        Cookie oid = new Cookie("oid", "00D000000000001", "acme.lightning.force.com", "/",
+                null, true, false, "Lax");
+        return new SessionSnapshot("user@example.com", "https://acme.lightning.force.com/lightning/page/home",
+                System.currentTimeMillis(), List.of(
+                new SessionSnapshot.OriginState("https://acme.my.salesforce.com", List.of(sid),
+                        Map.of("theme", "lightning"), Map.of()),
+                new SessionSnapshot.OriginState("https://acme.lightning.force.com", List.of(oid),
+                        Map.of(), Map.of("tab", "home"))));
+    }
+}
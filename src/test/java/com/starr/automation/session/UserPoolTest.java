@@ -0,0 +1,161 @@
+package com.starr.automation.session;
+
+import com.starr.automation.config.ConfigSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for leasing users from a {@link UserPool} built from parsed configuration.
+ * These tests need no browser or org.
+ */
+public class UserPoolTest {
+    private static final String SECRET = "JBSWY3DPEHPK3PXP";
+
+    private final Map<String, String> values = new HashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLeaseMatchesRoleCaseInsensitively() {
+        UserPool pool = pool(0, "admin@example.com", "admin", "user@example.com", "user");
+
+        assertEquals("admin@example.com", pool.lease("ADMIN").username());
+        assertEquals("user@example.com", pool.lease("user").username());
+        assertThrows(IllegalArgumentException.class, () -> pool.lease("auditor"),
+                "A role no configured user has should fail instead of waiting");
+    }
+
+    @Test
+    public void testLeaseTimesOutWhenAllUsersAreLeased() {
+        UserPool pool = pool(0, "user@example.com", "user");
+        pool.lease();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, pool::lease);
+        assertTrue(e.getMessage().contains("within 0 seconds"), e.getMessage());
+    }
+
+    @Test
+    public void testDoubleReleaseDoesNotDuplicateUser() {
+        UserPool pool = pool(0, "user@example.com", "user");
+        TestUser user = pool.lease();
+
+        pool.release(user);
+        pool.release(user);
+        pool.release(null);
+
+        assertSame(user, pool.lease());
+        assertThrows(IllegalStateException.class, pool::lease, "The pool should still hold a single user");
+    }
+
+    @Test
+    public void testWaitersAreServedInArrivalOrder() throws Exception {
+        UserPool pool = pool(30, "user@example.com", "user");
+        TestUser user = pool.lease();
+
+        Future<TestUser> first = leaseWhenWaiting(pool, null);
+        Future<TestUser> second = leaseWhenWaiting(pool, null);
+
+        pool.release(user);
+        assertSame(user, first.get(5, TimeUnit.SECONDS), "The first waiter should get the released user");
+        assertFalse(second.isDone(), "The second waiter should keep waiting");
+
+        pool.release(user);
+        assertSame(user, second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testReleasedUserSkipsWaitersForOtherRoles() throws Exception {
+        UserPool pool = pool(30, "admin@example.com", "admin", "user@example.com", "user");
+        TestUser admin = pool.lease("admin");
+        TestUser user = pool.lease("user");
+
+        Future<TestUser> adminWaiter = leaseWhenWaiting(pool, "admin");
+
+        pool.release(user);
+        assertFalse(adminWaiter.isDone(), "A user with another role should not be handed to the waiter");
+        assertSame(user, pool.lease("user"), "The released user should be idle again");
+
+        pool.release(admin);
+        assertSame(admin, adminWaiter.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testIndexedUsersNeedOwnSecretWhenOtpIsEnabled() {
+        values.put("test.otp.enabled", "true");
+        values.put("test.otp.secret", SECRET);
+        values.put("test.user.1.email", "user@example.com");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> UserPool.fromConfig(config()));
+        assertTrue(e.getMessage().contains("test.user.1.otp.secret"), e.getMessage());
+    }
+
+    @Test
+    public void testSingleUserIsVerifiedWithConfiguredSecret() {
+        values.put("test.otp.secret", SECRET);
+
+        TestUser user = UserPool.singleUser("user@example.com", "password", config());
+
+        assertEquals("user@example.com", user.username());
+        assertEquals("password", user.password());
+        assertEquals(SECRET, user.otpSecret(), "Single user should fall back to test.otp.secret");
+        assertEquals("user", user.role());
+    }
+
+    @Test
+    public void testSingleUserTakesConfiguredRole() {
+        values.put("test.user.role", "admin");
+
+        assertEquals("admin", UserPool.singleUser("admin@example.com", "password", config()).role());
+    }
+
+    /**
+     * Build a pool from indexed users given as username, role pairs.
+     */
+    private UserPool pool(int leaseTimeoutSeconds, String... usersAndRoles) {
+        values.put("user.pool.lease.timeout", String.valueOf(leaseTimeoutSeconds));
+        for (int i = 0; i < usersAndRoles.length; i += 2) {
+            String prefix = "test.user." + (i / 2 + 1) + ".";
+            values.put(prefix + "email", usersAndRoles[i]);
+            values.put(prefix + "password", "password");
+            values.put(prefix + "role", usersAndRoles[i + 1]);
+        }
+        return UserPool.fromConfig(config());
+    }
+
+    private ConfigSnapshot config() {
+        return ConfigSnapshot.parse(values, new HashMap<>());
+    }
+
+    /**
+     * Start a lease on another thread and return once it is queued as a waiter.
+     */
+    private Future<TestUser> leaseWhenWaiting(UserPool pool, String role) throws InterruptedException {
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        Future<TestUser> lease = executor.submit(() -> {
+            thread.complete(Thread.currentThread());
+            return pool.lease(role);
+        });
+        Thread waiter = thread.join();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        // Waiters park with a timeout; parking on the pool lock itself is untimed
+        while (waiter.getState() != Thread.State.TIMED_WAITING && !lease.isDone()) {
+            assertTrue(System.nanoTime() < deadline, "Lease did not start waiting");
+            Thread.sleep(10);
+        }
+        return lease;
+    }
+}
@@ -1,6 +1,8 @@
 package com.starr.automation.tests;
 
 import com.starr.automation.base.BaseTest;
+import com.starr.automation.base.StartPage;
+import com.starr.automation.pages.Destination;
 import com.starr.automation.pages.HomePage;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
@@ -13,6 +15,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 @Epic("Web Application")
 @Feature("Home Page")
 @DisplayName("Home Page Tests")
+@StartPage(Destination.HOME)
 class ExampleTest extends BaseTest {
 
     private HomePage homePage;
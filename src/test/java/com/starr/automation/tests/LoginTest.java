@@ -5,6 +5,7 @@ import com.starr.automation.config.ConfigReader;
 import com.starr.automation.pages.HomePage;
 import com.starr.automation.pages.LoginPage;
 import com.starr.automation.pages.VerificationPage;
+import com.starr.automation.session.TestUser;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
@@ -41,50 +42,44 @@ public class LoginTest extends BaseTest {
         loginPage.navigateTo(ConfigReader.getBaseUrl());
 
         // Perform login
-        String username = ConfigReader.getTestUserEmail();
-        String password = ConfigReader.getTestUserPassword();
+        TestUser user = getTestUser();
+        String username = user.username();
+        String password = user.password();
 
         loginPage.login(username, password);
 
         // Wait for page to load after login
-        try {
-            Thread.sleep(3000); // Wait for navigation
-
-            // Check if we're on verification page or home page
-            String currentUrl = driver.getCurrentUrl();
-            logger.info("Current URL after login: {}", currentUrl);
-
-            if (currentUrl.contains("verification")) {
-                VerificationPage verificationPage = new VerificationPage(driver);
-                assertTrue(verificationPage.isLoaded(),
-                        "Should be on verification page after login");
-                logger.info("2FA verification required - using auto-generated OTP");
-
-                // Use OTP auto-generation if enabled
-                if (ConfigReader.isOtpEnabled()) {
-                    verificationPage.verifyWithAutoOtp(false); // Auto-generate and verify with "don't ask again"
-                    logger.info("Successfully verified with auto-generated OTP");
-
-                    // Wait for home page to load after OTP verification
-                    HomePage homePage = new HomePage(driver);
-                    WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
-                    wait.until(driver -> homePage.isLoaded());
-
-                    assertTrue(homePage.isLoaded(),
-                            "Should be on home page after OTP verification");
-                } else {
-                    logger.warn("OTP is not enabled - cannot auto-verify");
-                }
-            } else {
-                // Should be on home page
+        LoginPage.Outcome outcome = loginPage.waitForLoginOutcome();
+        logger.info("Current URL after login: {}", driver.getCurrentUrl());
+
+        // Check if we're on verification page or home page
+        if (outcome == LoginPage.Outcome.VERIFICATION) {
+            VerificationPage verificationPage = new VerificationPage(driver).withOtpSecret(user.otpSecret());
+            assertTrue(verificationPage.isLoaded(),
+                    "Should be on verification page after login");
+            logger.info("2FA verification required - using auto-generated OTP");
+
+            // Use OTP auto-generation if enabled
+            if (ConfigReader.isOtpEnabled()) {
+                verificationPage.verifyWithAutoOtp(false); // Auto-generate and verify with "don't ask again"
+                logger.info("Successfully verified with auto-generated OTP");
+
+                // Wait for home page to load after OTP verification
                 HomePage homePage = new HomePage(driver);
+                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+                wait.until(driver -> homePage.isLoaded());
+
                 assertTrue(homePage.isLoaded(),
-                        "Should be on home page after login");
-                logger.info("Login successful without 2FA requirement");
+                        "Should be on home page after OTP verification");
+            } else {
+                logger.warn("OTP is not enabled - cannot auto-verify");
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            fail("Test interrupted");
+        } else {
+            // Should be on home page
+            HomePage homePage = new HomePage(driver);
+            assertTrue(homePage.isLoaded(),
+                    "Should be on home page after login");
+            logger.info("Login successful without 2FA requirement");
         }
     }
 
@@ -95,50 +90,46 @@ public class LoginTest extends BaseTest {
         LoginPage loginPage = new LoginPage(driver);
         loginPage.navigateTo(ConfigReader.getBaseUrl());
 
-        String username = ConfigReader.getTestUserEmail();
-        String password = ConfigReader.getTestUserPassword();
+        TestUser user = getTestUser();
+        String username = user.username();
+        String password = user.password();
 
         // Perform login
         loginPage.login(username, password);
         logger.info("Login credentials submitted");
 
-        try {
-            Thread.sleep(3000);
-
-            // Handle 2FA if it appears
-            VerificationPage verificationPage = new VerificationPage(driver);
-            if (verificationPage.isLoaded()) {
-                logger.info("Verification page detected - generating OTP");
-
-                if (ConfigReader.isOtpEnabled()) {
-                    // Generate OTP and display it
-                    String otp = verificationPage.generateOtp();
-                    logger.info("Generated OTP: {}", otp);
-
-                    // Verify with auto-generated OTP and set "don't ask again"
-                    verificationPage.verifyWithAutoOtp(true, true);
-                    logger.info("OTP verification completed");
-
-                    // Wait for home page to load
-                    HomePage homePage = new HomePage(driver);
-                    WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
-                    wait.until(driver -> homePage.isLoaded());
-
-                    // Verify successful login
-                    assertTrue(homePage.isLoaded(),
-                            "Should be on home page after OTP verification");
-                    logger.info("Successfully logged in with OTP");
-                } else {
-                    fail("OTP is required but not enabled in config");
-                }
-            } else {
-                logger.info("No 2FA required - direct login successful");
+        LoginPage.Outcome outcome = loginPage.waitForLoginOutcome();
+
+        // Handle 2FA if it appears
+        VerificationPage verificationPage = new VerificationPage(driver).withOtpSecret(user.otpSecret());
+        if (outcome == LoginPage.Outcome.VERIFICATION) {
+            logger.info("Verification page detected - generating OTP");
+
+            if (ConfigReader.isOtpEnabled()) {
+                // Generate OTP and display it
+                String otp = verificationPage.generateOtp();
+                logger.info("Generated OTP: {}", otp);
+
+                // Verify with auto-generated OTP and set "don't ask again"
+                verificationPage.verifyWithAutoOtp(true);
+                logger.info("OTP verification completed");
+
+                // Wait for home page to load
                 HomePage homePage = new HomePage(driver);
-                assertTrue(homePage.isLoaded(), "Should be on home page");
+                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+                wait.until(driver -> homePage.isLoaded());
+
+                // Verify successful login
+                assertTrue(homePage.isLoaded(),
+                        "Should be on home page after OTP verification");
+                logger.info("Successfully logged in with OTP");
+            } else {
+                fail("OTP is required but not enabled in config");
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            fail("Test interrupted");
+        } else {
+            logger.info("No 2FA required - direct login successful");
+            HomePage homePage = new HomePage(driver);
+            assertTrue(homePage.isLoaded(), "Should be on home page");
         }
     }
 
@@ -149,25 +140,21 @@ public class LoginTest extends BaseTest {
         LoginPage loginPage = new LoginPage(driver);
         loginPage.navigateTo(ConfigReader.getBaseUrl());
 
-        String username = ConfigReader.getTestUserEmail();
-        String password = ConfigReader.getTestUserPassword();
+        TestUser user = getTestUser();
+        String username = user.username();
+        String password = user.password();
 
         // Demonstrate method chaining
+        String loginUrl = driver.getCurrentUrl();
         loginPage.enterUsername(username)
                 .enterPassword(password)
                 .setRememberMe(false)
                 .clickLogin();
 
         // Verify we moved away from login page
-        try {
-            Thread.sleep(2000);
-            String currentUrl = driver.getCurrentUrl();
-            assertNotEquals(ConfigReader.getBaseUrl(), currentUrl,
-                    "Should navigate away from login page");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            fail("Test interrupted");
-        }
+        String currentUrl = waitForUrlChange("login.navigate", loginUrl);
+        assertNotEquals(ConfigReader.getBaseUrl(), currentUrl,
+                "Should navigate away from login page");
     }
 
     @Test
@@ -180,17 +167,12 @@ public class LoginTest extends BaseTest {
         loginPage.login("invalid@email.com", "wrongpassword");
 
         // Wait for error message
-        try {
-            Thread.sleep(2000);
-
-            // Verify error message is displayed
-            assertTrue(loginPage.isErrorDisplayed() ||
-                    !driver.getCurrentUrl().equals(ConfigReader.getBaseUrl()),
-                    "Should show error or remain on login page");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            fail("Test interrupted");
-        }
+        loginPage.waitForLoginOutcome();
+
+        // Verify error message is displayed
+        assertTrue(loginPage.isErrorDisplayed() ||
+                !driver.getCurrentUrl().equals(ConfigReader.getBaseUrl()),
+                "Should show error or remain on login page");
     }
 
     @Test
@@ -214,19 +196,14 @@ public class LoginTest extends BaseTest {
         LoginPage loginPage = new LoginPage(driver);
         loginPage.navigateTo(ConfigReader.getBaseUrl());
 
+        String loginUrl = driver.getCurrentUrl();
         loginPage.clickForgotPassword();
 
         // Wait for navigation
-        try {
-            Thread.sleep(2000);
-            String currentUrl = driver.getCurrentUrl();
-            assertTrue(currentUrl.contains("forgotpassword") ||
-                    currentUrl.contains("reset"),
-                    "Should navigate to forgot password page");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            fail("Test interrupted");
-        }
+        String currentUrl = waitForUrlChange("login.navigate", loginUrl);
+        assertTrue(currentUrl.contains("forgotpassword") ||
+                currentUrl.contains("reset"),
+                "Should navigate to forgot password page");
     }
 }
 
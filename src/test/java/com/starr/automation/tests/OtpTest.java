@@ -4,12 +4,15 @@ import com.starr.automation.base.BaseTest;
 import com.starr.automation.config.ConfigReader;
 import com.starr.automation.pages.LoginPage;
 import com.starr.automation.pages.VerificationPage;
+import com.starr.automation.session.TestUser;
 import com.starr.automation.utils.OtpUtil;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -59,6 +62,19 @@ public class OtpTest extends BaseTest {
         assertFalse(isInvalid, "Wrong OTP should be invalid");
     }
 
+    @Test
+    public void testOtpValidationWithSkew() {
+        logger.info("Test: OTP validation with clock skew");
+
+        String testSecret = "JBSWY3DPEHPK3PXP";
+        String previousOtp = OtpUtil.generateOtpForTime(testSecret, Instant.now().getEpochSecond() - OtpUtil.getTimeStep());
+        String nextOtp = OtpUtil.generateOtpForTime(testSecret, Instant.now().getEpochSecond() + OtpUtil.getTimeStep());
+
+        assertTrue(OtpUtil.validateOtp(testSecret, previousOtp, 1), "Previous step should be accepted with skew");
+        assertTrue(OtpUtil.validateOtp(testSecret, nextOtp, 1), "Next step should be accepted with skew");
+        assertFalse(OtpUtil.validateOtp(testSecret, "abcdef", 1), "Non-numeric OTP should be invalid");
+    }
+
     @Test
     public void testOtpRemainingTime() {
         logger.info("Test: OTP remaining time");
@@ -87,37 +103,33 @@ public class OtpTest extends BaseTest {
         LoginPage loginPage = new LoginPage(driver);
         loginPage.navigateTo(ConfigReader.getBaseUrl());
 
-        String username = ConfigReader.getTestUserEmail();
-        String password = ConfigReader.getTestUserPassword();
+        TestUser user = getTestUser();
+        String username = user.username();
+        String password = user.password();
 
         loginPage.login(username, password);
 
         // Wait for verification page to load
-        try {
-            Thread.sleep(3000);
-
-            VerificationPage verificationPage = new VerificationPage(driver);
-            if (verificationPage.isLoaded()) {
-                logger.info("Verification page loaded, generating OTP");
-
-                // Generate and verify with OTP
-                verificationPage.verifyWithAutoOtp(true);
-
-                // Wait for navigation
-                Thread.sleep(3000);
-
-                // Should be redirected away from verification page
-                String currentUrl = driver.getCurrentUrl();
-                assertFalse(currentUrl.contains("verification"),
-                        "Should be redirected away from verification page after successful OTP");
-
-                logger.info("Successfully verified with auto-generated OTP");
-            } else {
-                logger.info("Verification page not loaded, 2FA may not be required");
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            fail("Test interrupted");
+        LoginPage.Outcome outcome = loginPage.waitForLoginOutcome();
+
+        VerificationPage verificationPage = new VerificationPage(driver).withOtpSecret(user.otpSecret());
+        if (outcome == LoginPage.Outcome.VERIFICATION) {
+            logger.info("Verification page loaded, generating OTP");
+
+            // Generate and verify with OTP
+            String verificationUrl = driver.getCurrentUrl();
+            verificationPage.verifyWithAutoOtp(true);
+
+            // Wait for navigation
+            String currentUrl = waitForUrlChange("otp.redirect", verificationUrl);
+
+            // Should be redirected away from verification page
+            assertFalse(currentUrl.contains("verification"),
+                    "Should be redirected away from verification page after successful OTP");
+
+            logger.info("Successfully verified with auto-generated OTP");
+        } else {
+            logger.info("Verification page not loaded, 2FA may not be required");
         }
     }
 
@@ -146,36 +158,31 @@ public class OtpTest extends BaseTest {
         LoginPage loginPage = new LoginPage(driver);
         loginPage.navigateTo(ConfigReader.getBaseUrl());
 
-        String username = ConfigReader.getTestUserEmail();
-        String password = ConfigReader.getTestUserPassword();
+        TestUser user = getTestUser();
+        String username = user.username();
+        String password = user.password();
 
         loginPage.login(username, password);
+        LoginPage.Outcome outcome = loginPage.waitForLoginOutcome();
 
-        try {
-            Thread.sleep(3000);
-
-            VerificationPage verificationPage = new VerificationPage(driver);
-            if (verificationPage.isLoaded()) {
-                logger.info("Verification page loaded");
+        VerificationPage verificationPage = new VerificationPage(driver).withOtpSecret(user.otpSecret());
+        if (outcome == LoginPage.Outcome.VERIFICATION) {
+            logger.info("Verification page loaded");
 
-                int remainingTime = OtpUtil.getRemainingSeconds();
-                logger.info("Current OTP expires in {} seconds", remainingTime);
+            int remainingTime = OtpUtil.getRemainingSeconds();
+            logger.info("Current OTP expires in {} seconds", remainingTime);
 
-                // This will wait for a fresh code if current one is about to expire
-                verificationPage.verifyWithAutoOtp(true, true);
+            // The scheduler waits for a fresh code if the current one would expire before the server checks it
+            String verificationUrl = driver.getCurrentUrl();
+            verificationPage.verifyWithAutoOtp(true);
 
-                // Wait for navigation
-                Thread.sleep(3000);
+            // Wait for navigation
+            String currentUrl = waitForUrlChange("otp.redirect", verificationUrl);
 
-                String currentUrl = driver.getCurrentUrl();
-                assertFalse(currentUrl.contains("verification"),
-                        "Should be redirected after successful verification");
+            assertFalse(currentUrl.contains("verification"),
+                    "Should be redirected after successful verification");
 
-                logger.info("Successfully verified with fresh OTP code");
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            fail("Test interrupted");
+            logger.info("Successfully verified with fresh OTP code");
         }
     }
 
@@ -0,0 +1,106 @@
+package com.starr.automation.tests;
+
+import com.starr.automation.pages.UserRow;
+import com.starr.automation.pages.UsersPage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of Users table extraction against a generated static page shaped like the classic Users list.
+ * Compares the single-script bulk path with the per-element path.
+ * Runs standalone in its own headless Chrome, so it needs no org access or test user.
+ * Run with -Dbenchmark.users.table=true; the per-element path is only measured up to
+ * benchmark.legacy.max.rows rows (default 1000) because it needs about 7 commands per row.
+ */
+@EnabledIfSystemProperty(named = "benchmark.users.table", matches = "true")
+public class UsersTableBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(UsersTableBenchmarkTest.class);
+    private static WebDriver driver;
+
+    @BeforeAll
+    static void startBrowser() {
+        driver = new ChromeDriver(new ChromeOptions().addArguments("--headless=new"));
+    }
+
+    @AfterAll
+    static void quitBrowser() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    @ParameterizedTest(name = "{0} rows")
+    @ValueSource(ints = {1_000, 5_000, 10_000})
+    public void benchmarkUserTableExtraction(int rowCount) throws IOException {
+        logger.info("Benchmark: Users table extraction with {} rows", rowCount);
+
+        driver.get(generateUsersPage(rowCount).toUri().toString());
+        UsersPage usersPage = new UsersPage(driver);
+
+        long start = System.nanoTime();
+        List<UserRow> bulkRows = usersPage.getUserRows();
+        long bulkMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(rowCount, bulkRows.size(), "Bulk extraction should read every row");
+        assertEquals(new UserRow("User 1", "u1", "user1@example.com", "Role 1", "Active", "Standard User"),
+                bulkRows.get(0), "Bulk extraction should map cells to fields");
+
+        if (rowCount <= Integer.getInteger("benchmark.legacy.max.rows", 1_000)) {
+            start = System.nanoTime();
+            List<UserRow> perElementRows = usersPage.getUserRowsPerElement();
+            long perElementMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(bulkRows, perElementRows, "Both extraction paths should read the same rows");
+            logger.info("{} rows: bulk {} ms, per-element {} ms", rowCount, bulkMillis, perElementMillis);
+        } else {
+            logger.info("{} rows: bulk {} ms (per-element path skipped)", rowCount, bulkMillis);
+        }
+    }
+
+    /**
+     * Write a static page with a Users list table of the given size.
+     *
+     * @param rowCount number of user rows
+     * @return path to the generated page
+     * @throws IOException if the page cannot be written
+     */
+    private Path generateUsersPage(int rowCount) throws IOException {
+        StringBuilder html = new StringBuilder(rowCount * 256)
+                .append("<html><body><h1>All Users</h1><table class=\"list\"><tbody>")
+                .append("<tr class=\"headerRow\"><th>Action</th><th>Full Name</th><th>Alias</th><th>Username</th>")
+                .append("<th>Role</th><th>Active</th><th>Profile</th></tr>");
+        for (int i = 1; i <= rowCount; i++) {
+            html.append("<tr><td><a href=\"#\">Edit</a></td>")
+                    .append("<td><a href=\"#\">User ").append(i).append("</a></td>")
+                    .append("<td>u").append(i).append("</td>")
+                    .append("<td>user").append(i).append("@example.com</td>")
+                    .append("<td>Role ").append(i % 10).append("</td>")
+                    .append("<td>Active</td>")
+                    .append("<td>Standard User</td></tr>");
+        }
+        html.append("</tbody></table></body></html>");
+
+        Path page = Paths.get("target", "benchmark", "users-" + rowCount + ".html").toAbsolutePath();
+        Files.createDirectories(page.getParent());
+        Files.writeString(page, html, StandardCharsets.UTF_8);
+        return page;
+    }
+}
@@ -0,0 +1,89 @@
+package com.starr.automation.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for step claims in {@link OtpLedger}, using a temporary ledger directory.
+ * These tests need no browser or org.
+ */
+public class OtpLedgerTest {
+    // A fresh key per test keeps claims made by other tests in this JVM out of the picture
+    private final String secret = "LEDGER-TEST-" + UUID.randomUUID();
+    private final long currentStep = Instant.now().getEpochSecond() / OtpUtil.getTimeStep();
+
+    @TempDir
+    Path ledgerDir;
+
+    @Test
+    public void testConcurrentClaimsAreUnique() throws Exception {
+        int threads = 8;
+        int claimsPerThread = 50;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    List<Long> steps = new ArrayList<>();
+                    for (int i = 0; i < claimsPerThread; i++) {
+                        steps.add(OtpLedger.claim(secret, currentStep, ledgerDir).step());
+                    }
+                    return steps;
+                }));
+            }
+            Set<Long> claimed = new HashSet<>();
+            for (Future<List<Long>> result : results) {
+                for (long step : result.get()) {
+                    assertTrue(step >= currentStep, "Claimed step should not be before the requested step");
+                    assertTrue(claimed.add(step), "Step " + step + " was claimed twice");
+                }
+            }
+            assertEquals(threads * claimsPerThread, claimed.size(), "Every claim should get its own step");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSharedClaimIsWrittenToLedgerFile() throws IOException {
+        OtpLedger.Claim first = OtpLedger.claim(secret, currentStep, ledgerDir);
+        OtpLedger.Claim second = OtpLedger.claim(secret, currentStep, ledgerDir);
+
+        assertEquals(currentStep, first.step());
+        assertEquals(currentStep + 1, second.step(), "A claimed step should not be handed out again");
+        assertEquals(second.step() * OtpUtil.getTimeStep() * 1000L, second.notBeforeMillis());
+        try (Stream<Path> files = Files.list(ledgerDir)) {
+            List<Path> ledgerFiles = files.toList();
+            assertEquals(1, ledgerFiles.size(), "One ledger file per secret");
+            assertFalse(ledgerFiles.get(0).getFileName().toString().contains(secret),
+                    "Ledger file names should not reveal the secret");
+            assertEquals(String.valueOf(second.step()), Files.readString(ledgerFiles.get(0)).trim());
+        }
+    }
+
+    @Test
+    public void testLocalClaimWritesNoFile() throws IOException {
+        OtpLedger.claim(secret, currentStep, null);
+
+        try (Stream<Path> files = Files.list(ledgerDir)) {
+            assertEquals(0, files.count(), "Claims without a ledger directory should stay in memory");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.starr.automation.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Deterministic tests for {@link OtpScheduler} step selection, driven by a manual clock that sleeping advances.
+ * These tests need no browser or org.
+ */
+public class OtpSchedulerTest {
+    private static final long STEP_MILLIS = OtpUtil.getTimeStep() * 1000L;
+    private static final long STEP = 57_000_000L;
+    private static final long LATENCY = 1500;
+    private static final long MARGIN = 1000;
+
+    // Each test uses a fresh secret and ledger directory, so steps claimed by earlier tests never interfere
+    private final String secret = randomSecret();
+
+    @TempDir
+    Path ledgerDir;
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @Test
+    public void testCodeForCurrentStepWhenWindowFitsInside() {
+        ManualClock clock = new ManualClock(STEP * STEP_MILLIS + 10_000);
+
+        String code = OtpScheduler.nextCode(secret, LATENCY, MARGIN, 0, ledgerDir, clock, this::sleep);
+
+        assertEquals(codeFor(STEP), code);
+        assertTrue(sleeps.isEmpty(), "No wait is needed when the arrival window fits in one step");
+    }
+
+    @Test
+    public void testCodeForNextStepWhenWindowStartsAfterBoundary() {
+        ManualClock clock = new ManualClock(STEP * STEP_MILLIS + 29_800);
+
+        String code = OtpScheduler.nextCode(secret, LATENCY, MARGIN, 0, ledgerDir, clock, this::sleep);
+
+        assertEquals(codeFor(STEP + 1), code);
+        assertTrue(sleeps.isEmpty(), "The next step's code is usable without waiting");
+    }
+
+    @Test
+    public void testWaitsUntilWindowClearsBoundary() {
+        ManualClock clock = new ManualClock(STEP * STEP_MILLIS + 28_000);
+
+        String code = OtpScheduler.nextCode(secret, LATENCY, MARGIN, 0, ledgerDir, clock, clock::sleep);
+
+        assertEquals(codeFor(STEP + 1), code);
+        assertEquals((STEP + 1) * STEP_MILLIS - (LATENCY - MARGIN), clock.millis(),
+                "Should wait only until the earliest arrival clears the boundary");
+    }
+
+    @Test
+    public void testSkewCoversBoundaryWithoutWaiting() {
+        ManualClock clock = new ManualClock(STEP * STEP_MILLIS + 28_000);
+
+        String code = OtpScheduler.nextCode(secret, LATENCY, MARGIN, 1, ledgerDir, clock, this::sleep);
+
+        assertEquals(codeFor(STEP), code);
+        assertTrue(sleeps.isEmpty(), "A skew of one step accepts the current code across the boundary");
+    }
+
+    @Test
+    public void testClaimedStepIsNotReused() {
+        ManualClock clock = new ManualClock(STEP * STEP_MILLIS + 10_000);
+
+        String first = OtpScheduler.nextCode(secret, LATENCY, MARGIN, 0, ledgerDir, clock, clock::sleep);
+        String second = OtpScheduler.nextCode(secret, LATENCY, MARGIN, 0, ledgerDir, clock, clock::sleep);
+
+        assertEquals(codeFor(STEP), first);
+        assertEquals(codeFor(STEP + 1), second);
+        assertEquals((STEP + 1) * STEP_MILLIS - (LATENCY - MARGIN), clock.millis(),
+                "Second login should wait until its arrival window falls in the next step");
+    }
+
+    @Test
+    public void testOversizedMarginIsCapped() {
+        ManualClock clock = new ManualClock(STEP * STEP_MILLIS);
+
+        String code = OtpScheduler.nextCode(secret, 0, STEP_MILLIS, 0, ledgerDir, clock, clock::sleep);
+
+        assertEquals(OtpUtil.getCodeDigits(), code.length());
+    }
+
+    private void sleep(long millis) {
+        sleeps.add(millis);
+    }
+
+    private String codeFor(long step) {
+        return OtpUtil.formatCode(OtpUtil.generateCode(secret, step, OtpUtil.getCodeDigits()), OtpUtil.getCodeDigits());
+    }
+
+    private static String randomSecret() {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
+        SecureRandom random = new SecureRandom();
+        StringBuilder secret = new StringBuilder();
+        for (int i = 0; i < 32; i++) {
+            secret.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return secret.toString();
+    }
+
+    /**
+     * Clock that only moves when a scheduler wait sleeps on it.
+     */
+    private static final class ManualClock extends Clock {
+        private long millis;
+
+        private ManualClock(long millis) {
+            this.millis = millis;
+        }
+
+        private void sleep(long delay) {
+            assertTrue(delay > 0, "Scheduler should never sleep for a non-positive delay");
+            millis += delay;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.starr.automation.utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for how {@link WaitUtil} tells navigations apart from broken predicates.
+ * These tests need no browser or org.
+ */
+public class WaitUtilTest {
+
+    @Test
+    public void testUnloadErrorsCountAsNavigation() {
+        assertTrue(WaitUtil.isNavigation(new JavascriptException(
+                "javascript error: document unloaded while waiting for result")));
+        assertTrue(WaitUtil.isNavigation(new JavascriptException("Document was unloaded")));
+        assertTrue(WaitUtil.isNavigation(new JavascriptException(
+                "javascript error: Execution context was destroyed, most likely because of a navigation")));
+    }
+
+    @Test
+    public void testPredicateErrorsAreNotNavigation() {
+        assertFalse(WaitUtil.isNavigation(new JavascriptException(
+                "javascript error: Unexpected token ')'")));
+        assertFalse(WaitUtil.isNavigation(new JavascriptException(
+                "javascript error: Cannot read properties of null (reading 'textContent')")));
+        assertFalse(WaitUtil.isNavigation(new JavascriptException((String) null)));
+    }
+}